@@ -71,7 +71,7 @@ public class AmpliStorage extends NoneStorage {
 
         logger.debug("using storage config: {}", parms);
         
-        HttpClient httpClient = HttpClientUtil.createHttpClient(timeout);
+        HttpClient httpClient = HttpClientUtil.createHttpClient(timeout, config);
         client = new AmpliClient(httpClient, host, port, ns_root);
         logger.debug("ampli client has been initialized");
     }
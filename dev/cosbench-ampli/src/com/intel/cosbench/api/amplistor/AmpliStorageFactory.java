@@ -31,4 +31,9 @@ public class AmpliStorageFactory implements StorageAPIFactory {
         return new AmpliStorage();
     }
 
+    @Override
+    public boolean isThreadSafe() {
+        return false;
+    }
+
 }
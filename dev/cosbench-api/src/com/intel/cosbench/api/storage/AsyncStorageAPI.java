@@ -0,0 +1,88 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.api.storage;
+
+import java.io.InputStream;
+
+import com.intel.cosbench.config.Config;
+
+/**
+ * An optional extension of <code>StorageAPI</code> for storage clients that
+ * are able to keep many operations outstanding without dedicating one thread
+ * to each of them. Each method returns as soon as the request has been issued,
+ * and the outcome is delivered later through the given callback.
+ * 
+ * The <code>abort()</code> method inherited from <code>StorageAPI</code> is
+ * expected to fail all outstanding operations with a
+ * <code>StorageInterruptedException</code>.
+ * 
+ */
+public interface AsyncStorageAPI extends StorageAPI {
+
+    /**
+     * Downloads an object from a container, the content is consumed by the
+     * Storage-API and only its length is reported.
+     * 
+     * @param container
+     *            - the name of a container.
+     * @param object
+     *            - the name of an object to be downloaded.
+     * @param config
+     *            - the configuration used for this operation.
+     * @param callback
+     *            - the callback to be notified on completion.
+     */
+    public void getObjectAsync(String container, String object, Config config,
+            StorageCallback callback);
+
+    /**
+     * Uploads an object into a given container.
+     * 
+     * @param container
+     *            - the name of a container.
+     * @param object
+     *            - the name of an object to be uploaded.
+     * @param data
+     *            - the inputStream of the object content.
+     * @param length
+     *            - the length of object content.
+     * @param config
+     *            - the configuration used for this operation.
+     * @param callback
+     *            - the callback to be notified on completion.
+     */
+    public void createObjectAsync(String container, String object,
+            InputStream data, long length, Config config,
+            StorageCallback callback);
+
+    /**
+     * Deletes a given object.
+     * 
+     * @param container
+     *            - the name of a container.
+     * @param object
+     *            - the name of an object to be deleted.
+     * @param config
+     *            - the configuration used for this operation.
+     * @param callback
+     *            - the callback to be notified on completion.
+     */
+    public void deleteObjectAsync(String container, String object,
+            Config config, StorageCallback callback);
+
+}
@@ -0,0 +1,101 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.api.storage;
+
+import java.io.InputStream;
+import java.util.List;
+
+import com.intel.cosbench.config.Config;
+
+/**
+ * An optional extension of <code>StorageAPI</code> for storage clients that
+ * are able to upload one object in several parts. Parts of the same upload
+ * are expected to be uploaded concurrently from different threads.
+ * 
+ */
+public interface MultipartStorageAPI extends StorageAPI {
+
+    /**
+     * Starts uploading an object in parts.
+     * 
+     * @param container
+     *            - the name of a container.
+     * @param object
+     *            - the name of an object to be uploaded.
+     * @param config
+     *            - the configuration used for this operation.
+     * @return the id of the upload.
+     */
+    public String initMultipartUpload(String container, String object,
+            Config config);
+
+    /**
+     * Uploads one part of an object.
+     * 
+     * @param container
+     *            - the name of a container.
+     * @param object
+     *            - the name of an object to be uploaded.
+     * @param uploadId
+     *            - the id of the upload.
+     * @param partNumber
+     *            - the number of the part, starting from 1.
+     * @param data
+     *            - the inputStream of the part content.
+     * @param length
+     *            - the length of part content.
+     * @param config
+     *            - the configuration used for this operation.
+     * @return the tag of the part, to be passed on completion.
+     */
+    public String uploadPart(String container, String object, String uploadId,
+            int partNumber, InputStream data, long length, Config config);
+
+    /**
+     * Assembles the uploaded parts into the object.
+     * 
+     * @param container
+     *            - the name of a container.
+     * @param object
+     *            - the name of an object to be uploaded.
+     * @param uploadId
+     *            - the id of the upload.
+     * @param parts
+     *            - the tags of all parts, in the order of part numbers.
+     * @param config
+     *            - the configuration used for this operation.
+     */
+    public void completeMultipartUpload(String container, String object,
+            String uploadId, List<String> parts, Config config);
+
+    /**
+     * Gives up an upload and releases the parts uploaded so far.
+     * 
+     * @param container
+     *            - the name of a container.
+     * @param object
+     *            - the name of an object to be uploaded.
+     * @param uploadId
+     *            - the id of the upload.
+     * @param config
+     *            - the configuration used for this operation.
+     */
+    public void abortMultipartUpload(String container, String object,
+            String uploadId, Config config);
+
+}
@@ -0,0 +1,204 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.api.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * This class describes the content of an object to be uploaded by the buffer
+ * holding it rather than by a stream: the content is read from the block
+ * starting at a given offset, wrapping around at its end, until the length is
+ * reached. The block is never modified, so that storage clients can write
+ * it out in large chunks, and write it again on retries.
+ * <br />
+ * The time spent writing the payload is recorded, which spares the callers
+ * from wrapping it for measurement. A payload is meant to be written by one
+ * thread at a time.
+ * 
+ */
+public class Payload {
+
+    private static final int CHUNK = 64 * 1024; /* for stream writes */
+
+    /* per-thread staging for streams which cannot take buffers */
+    private static final ThreadLocal<byte[]> CHUNKS = new ThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() {
+            return new byte[CHUNK];
+        }
+    };
+
+    private ByteBuffer block; /* shared, its position and limit are untouched */
+    private long offset; /* offset of the content into the block */
+    private long length; /* length of the content */
+
+    private long xferStart;
+    private long xferEnd;
+
+    public Payload(ByteBuffer block, long offset, long length) {
+        if (block.capacity() == 0 && length > 0)
+            throw new IllegalArgumentException("empty block");
+        this.block = block;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * Writes the whole content to the given stream in large chunks, each is
+     * staged in a buffer reused by the current thread.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        byte[] chunk = CHUNKS.get();
+        ByteBuffer[] views = new ByteBuffer[1];
+        xferStart = System.nanoTime();
+        long position = 0L;
+        while (position < length) {
+            fill(views, position);
+            ByteBuffer view = views[0];
+            while (view.hasRemaining()) {
+                int n = Math.min(view.remaining(), chunk.length);
+                view.get(chunk, 0, n);
+                out.write(chunk, 0, n);
+                position += n;
+            }
+        }
+        xferEnd = System.nanoTime();
+    }
+
+    /**
+     * @return a new stream reading the content from its beginning, for callers
+     *         which cannot take buffers; it supports mark and reset, and the
+     *         time from its first read to its end is recorded as write time
+     */
+    public InputStream newInputStream() {
+        return new PayloadInputStream();
+    }
+
+    /*
+     * Fills the array with views over the content from the given position on,
+     * each ends at the end of the content or of the block.
+     */
+    private int fill(ByteBuffer[] views, long position) {
+        int size = block.capacity();
+        int count = 0;
+        while (count < views.length && position < length) {
+            int from = (int) ((offset + position) % size);
+            int len = (int) Math.min(length - position, size - from);
+            ByteBuffer view = block.duplicate();
+            view.limit(from + len);
+            view.position(from);
+            views[count++] = view;
+            position += len;
+        }
+        return count;
+    }
+
+    /**
+     * @return the time spent on the last write in nanoseconds
+     */
+    public long getXferNanoTime() {
+        long xferTime = xferEnd - xferStart;
+        return xferTime > 0 ? xferTime : 0L;
+    }
+
+    private class PayloadInputStream extends InputStream {
+
+        private ByteBuffer[] views = new ByteBuffer[1];
+        private long position; /* into the content */
+        private long mark;
+        private boolean started;
+
+        @Override
+        public int read() {
+            if (position >= length)
+                return -1;
+            onRead();
+            int size = block.capacity();
+            int b = block.get((int) ((offset + position++) % size)) & 0xFF;
+            onReadDone();
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (off < 0 || len < 0 || len > b.length - off)
+                throw new IndexOutOfBoundsException();
+            if (len == 0)
+                return 0;
+            if (position >= length)
+                return -1;
+            onRead();
+            fill(views, position);
+            ByteBuffer view = views[0];
+            int n = Math.min(view.remaining(), len);
+            view.get(b, off, n);
+            position += n;
+            onReadDone();
+            return n;
+        }
+
+        @Override
+        public long skip(long n) {
+            long skipped = Math.max(0L, Math.min(n, length - position));
+            position += skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(length - position, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public void mark(int readlimit) {
+            mark = position;
+        }
+
+        @Override
+        public void reset() {
+            position = mark;
+        }
+
+        private void onRead() {
+            if (started)
+                return;
+            started = true;
+            xferStart = System.nanoTime();
+            xferEnd = xferStart;
+        }
+
+        private void onReadDone() {
+            if (position >= length)
+                xferEnd = System.nanoTime();
+        }
+
+    }
+
+}
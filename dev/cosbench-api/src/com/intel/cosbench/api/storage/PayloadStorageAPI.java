@@ -0,0 +1,46 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.api.storage;
+
+import com.intel.cosbench.config.Config;
+
+/**
+ * An optional extension of <code>StorageAPI</code> for storage clients that
+ * are able to upload an object straight from the buffer holding its content,
+ * saving the copies made when reading it through a stream.
+ * 
+ */
+public interface PayloadStorageAPI extends StorageAPI {
+
+    /**
+     * Uploads an object into a given container.
+     * 
+     * @param container
+     *            - the name of a container.
+     * @param object
+     *            - the name of an object to be uploaded.
+     * @param payload
+     *            - the descriptor of the object content, which also carries
+     *            its length.
+     * @param config
+     *            - the configuration used for this operation.
+     */
+    public void createObject(String container, String object,
+            Payload payload, Config config);
+
+}
@@ -0,0 +1,49 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.api.storage;
+
+import java.io.InputStream;
+
+import com.intel.cosbench.config.Config;
+
+/**
+ * An optional extension of <code>StorageAPI</code> for storage clients that
+ * are able to download part of an object, e.g. with an HTTP range request.
+ * 
+ */
+public interface RangedStorageAPI extends StorageAPI {
+
+    /**
+     * Downloads a range of bytes from an object.
+     * 
+     * @param container
+     *            - the name of a container.
+     * @param object
+     *            - the name of an object to be downloaded.
+     * @param offset
+     *            - the position of the first byte to be downloaded.
+     * @param length
+     *            - the number of bytes to be downloaded, fewer bytes are
+     *            returned if the object ends before.
+     * @param config
+     *            - the configuration used for this operation.
+     */
+    public InputStream getObjectRange(String container, String object,
+            long offset, long length, Config config);
+
+}
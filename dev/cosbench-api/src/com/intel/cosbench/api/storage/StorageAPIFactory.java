@@ -23,4 +23,15 @@ public interface StorageAPIFactory {
 
     public StorageAPI getStorageAPI();
 
+    /**
+     * Tells whether the storage instances created by this factory can be
+     * shared by concurrent workers. If so, the driver may create just one
+     * instance (or a few) for all workers of a mission, each instance will be
+     * initialized with <code>concurrency</code> set to the number of workers
+     * sharing it, and {@link StorageAPI#abort()} will not be called on it.
+     * 
+     * @return true if all storage operations are thread-safe
+     */
+    public boolean isThreadSafe();
+
 }
@@ -24,4 +24,6 @@ public interface StorageAPIService {
 
     public StorageAPI getStorage(String type, Config config, Logger logger);
 
+    public boolean isThreadSafe(String type);
+
 }
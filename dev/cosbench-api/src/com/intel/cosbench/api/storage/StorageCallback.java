@@ -0,0 +1,46 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.api.storage;
+
+/**
+ * The callback through which an asynchronous storage operation reports its
+ * outcome. Implementations are invoked from the I/O threads owned by the
+ * Storage-API, so they are expected to return quickly.
+ * 
+ */
+public interface StorageCallback {
+
+    /**
+     * Called once the operation has completed successfully.
+     * 
+     * @param bytes
+     *            - the number of payload bytes transferred by the operation.
+     */
+    public void onCompleted(long bytes);
+
+    /**
+     * Called once the operation has failed.
+     * 
+     * @param e
+     *            - the cause of the failure, a
+     *            <code>StorageInterruptedException</code> if the operation was
+     *            aborted.
+     */
+    public void onFailed(Exception e);
+
+}
@@ -23,4 +23,9 @@ public interface StorageConstants {
 
     Boolean LOGGING_DEFAULT = Boolean.TRUE;
 
+    /* number of workers sharing one thread-safe storage instance */
+    String CONCURRENCY_KEY = "concurrency";
+
+    int CONCURRENCY_DEFAULT = 1;
+
 }
@@ -28,6 +28,7 @@ public class CDMIStorage extends NoneStorage {
     private boolean flag;
     
     // local variables
+    private Config config;
     private BaseCdmiClient client;
     private String[] header_list;
     
@@ -35,6 +36,7 @@ public class CDMIStorage extends NoneStorage {
     public void init(Config config, Logger logger) {
         super.init(config, logger);
         initParms(config);
+        this.config = config;
 
         client = CdmiClientFactory.getClient(type);
     }
@@ -59,7 +61,7 @@ public class CDMIStorage extends NoneStorage {
         try {
         	httpClient = (HttpClient) info.get(AUTH_CLIENT_KEY);
         	if(httpClient == null) // client is set
-        		httpClient = HttpClientUtil.createHttpClient(timeout);
+        		httpClient = HttpClientUtil.createHttpClient(timeout, config);
             url = info.getStr(STORAGE_URL_KEY) + rootPath;            
             
             // subtitute headers
@@ -27,7 +27,7 @@ public class CDMIStorage extends NoneStorage {
         super.init(config, logger);
         initParms(config);
         
-        HttpClient httpClient = HttpClientUtil.createHttpClient(timeout);
+        HttpClient httpClient = HttpClientUtil.createHttpClient(timeout, config);
         client = new CdmiSwiftClient(httpClient);
     }
 
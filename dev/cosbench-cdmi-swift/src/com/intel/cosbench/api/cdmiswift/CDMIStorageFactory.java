@@ -14,4 +14,9 @@ public class CDMIStorageFactory implements StorageAPIFactory {
         return new CDMIStorage();
     }
 
+    @Override
+    public boolean isThreadSafe() {
+        return false;
+    }
+
 }
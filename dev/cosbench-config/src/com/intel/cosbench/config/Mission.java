@@ -43,7 +43,7 @@ public class Mission implements Iterable<Operation> {
     private int runtime = 0;
     private int rampup = 0;
     private int rampdown = 0;
-    private int totalOps = 0;
+    private long totalOps = 0;
     private long totalBytes = 0;
     private int totalWorkers;
     private String config = "";
@@ -142,11 +142,11 @@ public class Mission implements Iterable<Operation> {
         this.rampdown = rampdown;
     }
 
-    public int getTotalOps() {
+    public long getTotalOps() {
         return totalOps;
     }
 
-    public void setTotalOps(int totalOps) {
+    public void setTotalOps(long totalOps) {
         if (totalOps < 0)
             /* total operations can be set to zero */
             throw new ConfigException("illegal total ops: " + totalOps);
@@ -250,10 +250,10 @@ public class Mission implements Iterable<Operation> {
                 op.setDivision(division);
         for (Operation op : operations)
             op.validate();
-        int sum = 0;
+        double sum = 0;
         for (Operation op : operations)
             sum += op.getRatio();
-        if (sum != 100)
+        if (Math.abs(sum - 100) > 1e-6)
             throw new ConfigException("op ratio should sum to 100");
     }
 
@@ -29,7 +29,7 @@ import org.apache.commons.lang.StringUtils;
 public class Operation {
 
     private String type;
-    private int ratio = 100;
+    private double ratio = 100; /* in percent, fractions allowed */
     private String division;
     private String config = "";
     private String id = "none"; /* will be inited in workloadProcessor.initStageOpId() */
@@ -52,11 +52,11 @@ public class Operation {
         this.type = type;
     }
 
-    public int getRatio() {
+    public double getRatio() {
         return ratio;
     }
 
-    public void setRatio(int ratio) {
+    public void setRatio(double ratio) {
         if (ratio < 0 || ratio > 100)
             /* ratio can be set to zero */
             throw new ConfigException("illegal operation ratio: " + ratio);
@@ -334,7 +334,7 @@
 								<tbody>
 									<tr>
 										<td >Read</td>
-										<td ><input type="number" name="read.ratio" style="width:30px" value="80" /> </td>
+										<td ><input type="number" name="read.ratio" step="any" style="width:30px" value="80" /> </td>
 										<td >
 											<select name="read.containers" hidden="true">
 											  <option value="u" selected="true">Uniform</option>
@@ -351,7 +351,7 @@
 									</tr>
 									<tr>
 										<td >Write</td>
-										<td ><input type="number" name="write.ratio" style="width:30px" value="20" /> </td>
+										<td ><input type="number" name="write.ratio" step="any" style="width:30px" value="20" /> </td>
 										<td >
 											<select name="write.containers" hidden="true">
 											  <option value="u" selected="true">Uniform</option>
@@ -379,7 +379,7 @@
 									</tr>
 									<tr>                                        
                                         <td >File-Write</td>
-										<td ><input type="number" name="filewrite.ratio" style="width:30px" value="0" /> </td>
+										<td ><input type="number" name="filewrite.ratio" step="any" style="width:30px" value="0" /> </td>
 										<td >
 											<select name="filewrite.containers" hidden="true">
 											  <option value="u" selected="true">Uniform</option>
@@ -400,7 +400,7 @@
 									<tr>
 									<tr>
 										<td >Delete</td>
-										<td ><input type="number" name="delete.ratio" style="width:30px" value="0"/> </td>
+										<td ><input type="number" name="delete.ratio" step="any" style="width:30px" value="0"/> </td>
 										<td >
 											<select name="delete.containers" hidden="true">
 											  <option value="u" selected="true">Uniform</option>
@@ -112,16 +112,25 @@
 <table class="info-table">
   <tr>
     <th class="id" style="width:13%;">Op-Type</th>
+    <th>50%-RT</th>
     <th>60%-RT</th>
     <th>80%-RT</th>
     <th>90%-RT</th>
     <th>95%-RT</th>
     <th>99%-RT</th>
+    <th>99.9%-RT</th>
     <th>100%-RT</th>
   </tr>
   <#list allMetrics as mInfo>
     <tr>
       <td>${mInfo.opName}<#if mInfo.opName != mInfo.sampleType>-${mInfo.sampleType}</#if></td>
+      <td>
+        <#if !mInfo.latency._50?? >
+          N/A
+        <#else>
+          &lt; ${mInfo.latency._50[1]} ms
+        </#if>
+      </td>
       <td>
         <#if !mInfo.latency._60?? >
           N/A
@@ -157,6 +166,13 @@
           &lt; ${mInfo.latency._99[1]} ms
         </#if>
       </td>
+      <td>
+        <#if !mInfo.latency._999?? >
+          N/A
+        <#else>
+          &lt; ${mInfo.latency._999[1]} ms
+        </#if>
+      </td>
       <td>
         <#if !mInfo.latency._100?? >
           N/A
@@ -309,7 +309,7 @@ public class WorkloadConfigurationController extends AbstractController {
 						.getParameterValues("normal.runtime")[i]));
 
 				// read operation
-				int rRatio = getParmInt(
+				double rRatio = getParmDouble(
 						req.getParameterValues("read.ratio")[i], 0);
 				
 				if (rRatio > 0) {
@@ -335,7 +335,7 @@ public class WorkloadConfigurationController extends AbstractController {
 				}
 
 				// write operation
-				int wRatio = getParmInt(
+				double wRatio = getParmDouble(
 						req.getParameterValues("write.ratio")[i], 0);
 				if (wRatio > 0) {
 					String wconfig = "";
@@ -376,7 +376,7 @@ public class WorkloadConfigurationController extends AbstractController {
 				}
 
 				// filewrite operation
-				int fwRatio = getParmInt(
+				double fwRatio = getParmDouble(
 						req.getParameterValues("filewrite.ratio")[i], 0);
 				if (fwRatio > 0) {
 					String fwconfig = "";
@@ -408,7 +408,7 @@ public class WorkloadConfigurationController extends AbstractController {
 				}
 
 				// delete operation
-				int dRatio = getParmInt(
+				double dRatio = getParmDouble(
 						req.getParameterValues("delete.ratio")[i], 0);
 				if (dRatio > 0) {
 				String dconfig = "";
@@ -456,6 +456,13 @@ public class WorkloadConfigurationController extends AbstractController {
 	private int getParmInt(String string) {
 		return Integer.parseInt(string);
 	}
+
+	private double getParmDouble(String string, double defVal) {
+		if (string != null)
+			return Double.parseDouble(string);
+		else
+			return defVal;
+	}
 	
 	private void checkAndAddDelay(HttpServletRequest req, String stage,
 			ArrayList<Object> workStageList, int iteration) {
@@ -28,6 +28,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
+import com.intel.cosbench.bench.Histogram;
 import com.intel.cosbench.bench.Metrics;
 import com.intel.cosbench.bench.Report;
 import com.intel.cosbench.bench.Snapshot;
@@ -38,6 +39,8 @@ class CSVSnapshotLoader extends AbstractSnapshotLoader {
 
 	private String[] name = null;
 	private int opNum = 0;
+	private int groups = 7; /* metrics groups before version info */
+	private static final int PHASE_GROUPS = 14; /* groups since request phases were added */
 
 	public CSVSnapshotLoader(BufferedReader reader,
 			WorkloadInfo workloadContext, String stageId) throws IOException {
@@ -46,14 +49,27 @@ class CSVSnapshotLoader extends AbstractSnapshotLoader {
 
 	@Override
 	protected void readHeader() throws IOException {
-		if(this.reader.readLine() == null){
+		String groupLine = this.reader.readLine();
+		if(groupLine == null){
 			return;
 		}
 		String workloadRecordLine = this.reader.readLine();
 		String[] columns = workloadRecordLine.split(",");
-		for (Work work : stageContext.getStage().getWorks()) {
-			opNum += work.getOperations().size();
-		}
+		/*
+		 * each group spans one column per metrics, which may outnumber the
+		 * operations as some operations report extra sample types
+		 */
+		String[] heads = groupLine.split(",");
+		for (int i = 1; i < heads.length; i++)
+			if (heads[i].equals("Byte-Count"))
+				opNum = i - 1;
+		if (opNum == 0)
+			for (Work work : stageContext.getStage().getWorks())
+				opNum += work.getOperations().size();
+		/* archives before percentiles were added have only 7 groups */
+		for (int i = 1; i < heads.length && opNum > 0; i++)
+			if (heads[i].equals("Version-Info"))
+				groups = (i - 1) / opNum;
 		name = new String[opNum];
 		for (int i = 0; i < opNum; i++)
 			name[i] = columns[i + 1];
@@ -71,9 +87,9 @@ class CSVSnapshotLoader extends AbstractSnapshotLoader {
 				e.printStackTrace();
 			}
 			Snapshot snapshot = new Snapshot(loadReport(columns), timestamp);
-			snapshot.setMinVersion(Integer.valueOf(columns[1 + opNum * 7]));
-			snapshot.setVersion(Integer.valueOf(columns[2 + opNum * 7]));
-			snapshot.setMaxVersion(Integer.valueOf(columns[3 + opNum * 7]));
+			snapshot.setMinVersion(Integer.valueOf(columns[1 + opNum * groups]));
+			snapshot.setVersion(Integer.valueOf(columns[2 + opNum * groups]));
+			snapshot.setMaxVersion(Integer.valueOf(columns[3 + opNum * groups]));
 			stageContext.getSnapshotRegistry().addItem(snapshot);
 		}
 	}
@@ -111,11 +127,37 @@ class CSVSnapshotLoader extends AbstractSnapshotLoader {
 //					: Double.valueOf(columns[i + opNum * 5 + 1].substring(0,
 //							columns[i + opNum * 5 + 1].length() - 1)) / 100.0);
 			setRatio(columns[i + opNum * 6 + 1], metric);
+			if (groups >= 10)
+				metric.setLatency(loadLatency(columns, i));
+			if (groups >= PHASE_GROUPS)
+				loadPhases(columns, i, metric);
 			metrics.add(metric);
 		}
 		return metrics;
 	}
 	
+	private Histogram loadLatency(String[] columns, int i) {
+		Histogram histogram = new Histogram();
+		histogram.set_50(loadPercentile(columns[i + opNum * 7 + 1]));
+		histogram.set_99(loadPercentile(columns[i + opNum * 8 + 1]));
+		histogram.set_999(loadPercentile(columns[i + opNum * 9 + 1]));
+		return histogram;
+	}
+
+	private void loadPhases(String[] columns, int i, Metrics metric) {
+		metric.setAvgDnsTime(getDoubleValue(columns[i + opNum * 10 + 1]));
+		metric.setAvgConnTime(getDoubleValue(columns[i + opNum * 11 + 1]));
+		metric.setAvgTlsTime(getDoubleValue(columns[i + opNum * 12 + 1]));
+		metric.setAvgTtfbTime(getDoubleValue(columns[i + opNum * 13 + 1]));
+	}
+
+	private long[] loadPercentile(String column) {
+		long[] percentile = new long[2];
+		percentile[1] = column.equalsIgnoreCase("N/A") ? 0L : (long) Math
+				.ceil(Double.valueOf(column));
+		return percentile;
+	}
+
 	private void setRatio(String column, Metrics metrics) {
 		if (!column.equalsIgnoreCase("N/A")) {
 			metrics.setRatio(Double.valueOf(column.substring(0,
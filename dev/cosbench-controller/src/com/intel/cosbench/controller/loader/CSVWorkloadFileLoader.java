@@ -21,7 +21,7 @@ import static com.intel.cosbench.controller.loader.Formats.DATETIME;
 
 import java.io.*;
 import java.text.ParseException;
-import java.util.Date;
+import java.util.*;
 
 import com.intel.cosbench.bench.Histogram;
 import com.intel.cosbench.bench.Metrics;
@@ -31,6 +31,12 @@ import com.intel.cosbench.model.WorkloadInfo;
 
 class CSVWorkloadFileLoader extends AbstractWorkloadFileLoader {
 
+	private static final int STATUS = 16; /* status column of older archives */
+
+	/* column positions, older archives lack some of the columns */
+	private Map<String, Integer> heads = new HashMap<String, Integer>();
+	private int status = STATUS;
+
 	public CSVWorkloadFileLoader(BufferedReader reader,
 			WorkloadInfo workloadContext) throws IOException {
 		super.init(reader, workloadContext);
@@ -38,7 +44,19 @@ class CSVWorkloadFileLoader extends AbstractWorkloadFileLoader {
 
 	@Override
 	protected void readHeader() throws IOException {
-		this.reader.readLine();
+		String header = this.reader.readLine();
+		if (header == null)
+			return;
+		String[] columns = header.split(",");
+		for (int i = 0; i < columns.length; i++)
+			heads.put(columns[i], i);
+		if (heads.containsKey("Status"))
+			status = heads.get("Status");
+	}
+
+	private String getColumn(String[] columns, String name) {
+		Integer idx = heads.get(name);
+		return idx != null && idx < columns.length ? columns[idx] : "N/A";
 	}
 
 	@Override
@@ -57,7 +75,7 @@ class CSVWorkloadFileLoader extends AbstractWorkloadFileLoader {
 				stageId = "s" + index++;
 				sameStage = false;
 			}
-			if (columns[16].equalsIgnoreCase("completed")) {
+			if (columns[status].equalsIgnoreCase("completed")) {
 				Metrics metrics = loadMetrics(columns);
 				if (!sameStage) {
 					Report report = new Report();
@@ -68,13 +86,13 @@ class CSVWorkloadFileLoader extends AbstractWorkloadFileLoader {
 				workloadContext.getReport().addMetrics(metrics);
 			}
 			for (StageState state : StageState.values()) {
-				if (columns[16]
+				if (columns[status]
 						.equalsIgnoreCase(state.toString().toLowerCase())) {
 					workloadContext.getStageInfo(stageId).setState(state, true);
 					break;
 				}
 			}
-			int pos = 16;
+			int pos = status;
 			while (!sameStage && ++pos <= columns.length - 1) {
 				String str[] = columns[pos].split("@");
 				String stateName = str[0].trim();
@@ -108,10 +126,28 @@ class CSVWorkloadFileLoader extends AbstractWorkloadFileLoader {
 		metrics.setAvgResTime(rt);
 		double pt = columns[6].equalsIgnoreCase("N/A") ? 0 : Double.valueOf(columns[6]);
 		metrics.setAvgXferTime(rt - pt);
-		metrics.setLatency(loadHistogram(columns));
-		metrics.setThroughput(Double.valueOf(columns[13]));
-		metrics.setBandwidth(Double.valueOf(columns[14]));
-		setRatio(columns[15], metrics);
+		metrics.setLatency(loadHistogram(columns, "ResTime"));
+		metrics.setThroughput(Double.valueOf(getColumn(columns, "Throughput")));
+		metrics.setBandwidth(Double.valueOf(getColumn(columns, "Bandwidth")));
+		setRatio(getColumn(columns, "Succ-Ratio"), metrics);
+		String qt = getColumn(columns, "Avg-QueueTime");
+		metrics.setAvgQueueTime(qt.equalsIgnoreCase("N/A") ? 0 : Double.valueOf(qt));
+		String mc = getColumn(columns, "Missed-Count");
+		metrics.setMissedCount(mc.equalsIgnoreCase("N/A") ? 0 : Integer.valueOf(mc));
+		String pw = getColumn(columns, "Avg-PoolWait");
+		metrics.setAvgPoolWait(pw.equalsIgnoreCase("N/A") ? 0 : Double.valueOf(pw));
+		String dt = getColumn(columns, "Avg-DNSTime");
+		metrics.setAvgDnsTime(dt.equalsIgnoreCase("N/A") ? 0 : Double.valueOf(dt));
+		String nt = getColumn(columns, "Avg-ConnTime");
+		metrics.setAvgConnTime(nt.equalsIgnoreCase("N/A") ? 0 : Double.valueOf(nt));
+		String st = getColumn(columns, "Avg-TLSTime");
+		metrics.setAvgTlsTime(st.equalsIgnoreCase("N/A") ? 0 : Double.valueOf(st));
+		String ft = getColumn(columns, "Avg-TTFB");
+		metrics.setAvgTtfbTime(ft.equalsIgnoreCase("N/A") ? 0 : Double.valueOf(ft));
+		String ct = getColumn(columns, "Avg-CorrResTime");
+		metrics.setAvgCorrResTime(ct.equalsIgnoreCase("N/A") ? 0 : Double.valueOf(ct));
+		if (heads.containsKey("100%-CorrResTime"))
+			metrics.setCorrLatency(loadHistogram(columns, "CorrResTime"));
 		return metrics;
 	}
 
@@ -128,33 +164,30 @@ class CSVWorkloadFileLoader extends AbstractWorkloadFileLoader {
 		}
 	}
 
-	private Histogram loadHistogram(String[] columns) {
+	/* the raw data is not archived, only the exported percentiles */
+	private Histogram loadHistogram(String[] columns, String suffix) {
 		Histogram histogram = new Histogram();
-		long[] l_60 = new long[2];
-		l_60[1] = columns[7].equalsIgnoreCase("N/A") ? 0L : Long
-				.valueOf(columns[7]);
-		histogram.set_60(l_60);
-		long[] l_80 = new long[2];
-		l_80[1] = columns[8].equalsIgnoreCase("N/A") ? 0L : Long
-				.valueOf(columns[8]);
-		histogram.set_80(l_80);
-		long[] l_90 = new long[2];
-		l_90[1] = columns[9].equalsIgnoreCase("N/A") ? 0L : Long
-				.valueOf(columns[9]);
-		histogram.set_90(l_90);
-		long[] l_95 = new long[2];
-		l_95[1] = columns[10].equalsIgnoreCase("N/A") ? 0L : Long
-				.valueOf(columns[10]);
-		histogram.set_95(l_95);
-		long[] l_99 = new long[2];
-		l_99[1] = columns[11].equalsIgnoreCase("N/A") ? 0L : Long
-				.valueOf(columns[11]);
-		histogram.set_99(l_99);
-		long[] l_100 = new long[2];
-		l_100[1] = columns[12].equalsIgnoreCase("N/A") ? 0L : Long
-				.valueOf(columns[12]);
-		histogram.set_100(l_100);
+		histogram.set_50(loadPercentile(columns, "50%-" + suffix));
+		histogram.set_60(loadPercentile(columns, "60%-" + suffix));
+		histogram.set_80(loadPercentile(columns, "80%-" + suffix));
+		histogram.set_90(loadPercentile(columns, "90%-" + suffix));
+		histogram.set_95(loadPercentile(columns, "95%-" + suffix));
+		histogram.set_99(loadPercentile(columns, "99%-" + suffix));
+		histogram.set_999(loadPercentile(columns, "99.9%-" + suffix));
+		histogram.set_100(loadPercentile(columns, "100%-" + suffix));
 		return histogram;
 	}
 
+	/* null if the archive lacks the column */
+	private long[] loadPercentile(String[] columns, String name) {
+		if (!heads.containsKey(name))
+			return null;
+		String column = getColumn(columns, name);
+		long[] percentile = new long[2];
+		/* percentiles are no longer whole milliseconds */
+		percentile[1] = column.equalsIgnoreCase("N/A") ? 0L : (long) Math
+				.ceil(Double.valueOf(column));
+		return percentile;
+	}
+
 }
@@ -17,7 +17,6 @@ limitations under the License.
 
 package com.intel.cosbench.bench;
 
-import static com.intel.cosbench.bench.Counter.*;
 import static com.intel.cosbench.bench.Metrics.newMetrics;
 
 import java.util.*;
@@ -38,9 +37,11 @@ public class Aggregator {
 
     private long byteCount = 0L; /* total bytes transferred */
     private int workerCount = 0; /* total workers involved */
+    private int missedCount = 0; /* operations started behind schedule */
 
     /* children metrics */
     private boolean containsLatency = false;
+    private boolean containsCorrLatency = false;
     private List<Metrics> children = new ArrayList<Metrics>();
 
     public Aggregator(String type) {
@@ -52,8 +53,11 @@ public class Aggregator {
         totalSampleCount += metrics.getTotalSampleCount();
         byteCount += metrics.getByteCount();
         workerCount += metrics.getWorkerCount();
+        missedCount += metrics.getMissedCount();
         children.add(metrics);
         containsLatency = containsLatency || metrics.getLatency() != null;
+        containsCorrLatency = containsCorrLatency
+                || metrics.getCorrLatency() != null;
     }
 
     public Metrics aggregate() {
@@ -66,7 +70,16 @@ public class Aggregator {
         metrics.setBandwidth(getBandwidth());
         metrics.setAvgResTime(getAvgResTime());
         metrics.setAvgXferTime(getAvgXferTime());
-        metrics.setLatency(getLatency());
+        metrics.setAvgQueueTime(getAvgQueueTime());
+        metrics.setAvgPoolWait(getSampleAvg(Field.POOL_WAIT));
+        metrics.setAvgDnsTime(getSampleAvg(Field.DNS_TIME));
+        metrics.setAvgConnTime(getSampleAvg(Field.CONN_TIME));
+        metrics.setAvgTlsTime(getSampleAvg(Field.TLS_TIME));
+        metrics.setAvgTtfbTime(getSampleAvg(Field.TTFB_TIME));
+        metrics.setMissedCount(missedCount);
+        metrics.setAvgCorrResTime(getAvgCorrResTime());
+        metrics.setLatency(containsLatency ? getLatency(false) : null);
+        metrics.setCorrLatency(containsCorrLatency ? getLatency(true) : null);
 		metrics.setRatio(metrics.getTotalSampleCount() > 0 ? (double) metrics
 				.getSampleCount() / metrics.getTotalSampleCount() : 0D);
         return metrics;
@@ -104,23 +117,93 @@ public class Aggregator {
 		return sum / sampleCount;
 	}
 
-    private Histogram getLatency() {
-        if (!containsLatency)
-            return null;
-        Histogram histogram = new Histogram();
-        histogram.setHistoData(getLatencyHistoData());
+    private double getAvgQueueTime() {
+        if (totalSampleCount == 0)
+            return 0D;
+        double sum = 0D;
+        for (Metrics metrics : children)
+            sum += metrics.getAvgQueueTime() * metrics.getTotalSampleCount();
+        return sum / totalSampleCount;
+    }
+
+    /* average over successful samples, weighted by each child's count */
+    private double getSampleAvg(Field field) {
+        if (sampleCount == 0)
+            return 0D;
+        double sum = 0D;
+        for (Metrics metrics : children)
+            sum += field.get(metrics) * metrics.getSampleCount();
+        return sum / sampleCount;
+    }
+
+    private double getAvgCorrResTime() {
+        if (sampleCount == 0)
+            return 0D;
+        double sum = 0D;
+        for (Metrics metrics : children)
+            sum += metrics.getAvgCorrResTime() * metrics.getSampleCount();
+        return sum / sampleCount;
+    }
+
+    /* merges at the coarsest unit and precision found among the children */
+    private Histogram getLatency(boolean corrected) {
+        long unit = 0L;
+        int digits = Integer.MAX_VALUE;
+        long highest = 0L;
+        for (Metrics metrics : children) {
+            Histogram latency = corrected ? metrics.getCorrLatency() : metrics
+                    .getLatency();
+            if (latency == null || latency.getCounts() == null)
+                continue;
+            unit = Math.max(unit, latency.getUnit());
+            digits = Math.min(digits, latency.getDigits());
+            highest = Math.max(highest,
+                    latency.getHighest() * latency.getUnit());
+        }
+        if (unit == 0L)
+            return new Histogram();
+        Histogram histogram = new Histogram(unit, digits, highest / unit);
+        for (Metrics metrics : children) {
+            Histogram latency = corrected ? metrics.getCorrLatency() : metrics
+                    .getLatency();
+            if (latency != null)
+                histogram.add(latency);
+        }
         histogram.recalcPercentiles();
         return histogram;
     }
 
-    private int[] getLatencyHistoData() {
-        int size = 1 + (int) (RES_MAX / RES_INT);
-        int[] data = new int[size];
-        for (Metrics metrics : children)
-            if (metrics.getLatency() != null)
-                for (int i = 0; i < size; i++)
-                    data[i] += metrics.getLatency().getHistoData()[i];
-        return data;
+    /* per-sample averages of the HTTP request phases */
+    private static enum Field {
+
+        POOL_WAIT {
+            double get(Metrics metrics) {
+                return metrics.getAvgPoolWait();
+            }
+        },
+        DNS_TIME {
+            double get(Metrics metrics) {
+                return metrics.getAvgDnsTime();
+            }
+        },
+        CONN_TIME {
+            double get(Metrics metrics) {
+                return metrics.getAvgConnTime();
+            }
+        },
+        TLS_TIME {
+            double get(Metrics metrics) {
+                return metrics.getAvgTlsTime();
+            }
+        },
+        TTFB_TIME {
+            double get(Metrics metrics) {
+                return metrics.getAvgTtfbTime();
+            }
+        };
+
+        abstract double get(Metrics metrics);
+
     }
 
 }
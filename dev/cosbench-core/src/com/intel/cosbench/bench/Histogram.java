@@ -18,8 +18,9 @@ limitations under the License.
 package com.intel.cosbench.bench;
 
 /**
- * This class encapsulates calculation of different percentiles, 
- * so far it supports 60/80/90/95/99/100 percentiles.
+ * This class encapsulates calculation of different percentiles, the
+ * 50/60/80/90/95/99/99.9/100 percentiles are kept for reporting while any other
+ * one can be calculated from the raw data.
  * 
  * @author ywang19, qzheng7
  *
@@ -28,21 +29,41 @@ public class Histogram implements Cloneable {
 
     /* Percentile */
 
+    private long[] _50; /* 50% */
     private long[] _60; /* 60% */
     private long[] _80; /* 80% */
     private long[] _90; /* 90% */
     private long[] _95; /* 95% */
     private long[] _99; /* 99% */
+    private long[] _999; /* 99.9% */
     private long[] _100; /* 100% */
 
     /* Raw Data */
 
-    private int[] histoData; /* raw histogram data */
+    private long unit; /* nanoseconds per recorded value */
+    private int digits; /* number of significant digits */
+    private long highest; /* highest trackable value */
+    private long[] counts; /* raw histogram data */
 
     public Histogram() {
         /* empty */
     }
 
+    public Histogram(long unit, int digits, long highest) {
+        this.unit = unit;
+        this.digits = digits;
+        this.highest = highest;
+        this.counts = new LogCounter(unit, digits, highest, null).getCounts();
+    }
+
+    public long[] get_50() {
+        return _50;
+    }
+
+    public void set_50(long[] _50) {
+        this._50 = _50;
+    }
+
     public long[] get_60() {
         return _60;
     }
@@ -83,6 +104,14 @@ public class Histogram implements Cloneable {
         this._99 = _99;
     }
 
+    public long[] get_999() {
+        return _999;
+    }
+
+    public void set_999(long[] _999) {
+        this._999 = _999;
+    }
+
     public long[] get_100() {
         return _100;
     }
@@ -91,85 +120,153 @@ public class Histogram implements Cloneable {
         this._100 = _100;
     }
 
-    public int[] getHistoData() {
-        return histoData;
+    public long getUnit() {
+        return unit;
     }
 
-    public void setHistoData(int[] histoData) {
-        this.histoData = histoData;
+    public void setUnit(long unit) {
+        this.unit = unit;
+    }
+
+    public int getDigits() {
+        return digits;
+    }
+
+    public void setDigits(int digits) {
+        this.digits = digits;
+    }
+
+    public long getHighest() {
+        return highest;
+    }
+
+    public void setHighest(long highest) {
+        this.highest = highest;
+    }
+
+    public long[] getCounts() {
+        return counts;
+    }
+
+    public void setCounts(long[] counts) {
+        this.counts = counts;
+    }
+
+    /**
+     * @return a counter view over the raw data, or null if the histogram only
+     *         carries percentiles (e.g. loaded from an archive)
+     */
+    public LogCounter toCounter() {
+        if (counts == null)
+            return null;
+        return new LogCounter(unit, digits, highest, counts);
+    }
+
+    /**
+     * Merges the raw data from another histogram, no precision is lost if both
+     * share the same layout. A histogram without raw data takes over the
+     * layout of the other one. Percentiles have to be recalculated afterwards.
+     */
+    public void add(Histogram histogram) {
+        LogCounter counter = histogram.toCounter();
+        if (counter == null)
+            return;
+        if (counts == null) {
+            unit = histogram.unit;
+            digits = histogram.digits;
+            highest = histogram.highest;
+            counts = histogram.counts.clone();
+            return;
+        }
+        toCounter().add(counter);
     }
 
     /**
-     * The method calculates 60/80/90/95/99 percentiles.
+     * The method calculates 50/60/80/90/95/99/99.9/100 percentiles.
      * 
      * @param 
      * @return	
      */
     public void recalcPercentiles() {
-        int curr = 0;
-        int total = calcTotalCount();
-
-        if (total == 0)
+        LogCounter counter = toCounter();
+        if (counter == null || counter.getTotalCount() == 0)
             return;
+        _50 = getResTime(counter, 50D);
+        _60 = getResTime(counter, 60D);
+        _80 = getResTime(counter, 80D);
+        _90 = getResTime(counter, 90D);
+        _95 = getResTime(counter, 95D);
+        _99 = getResTime(counter, 99D);
+        _999 = getResTime(counter, 99.9D);
+        _100 = getResTime(counter, 100D);
+    }
 
-        // define thresholds
-        final int T_99 = (int) (total * 0.99);
-        final int T_95 = (int) (total * 0.95);
-        final int T_90 = (int) (total * 0.90);
-        final int T_80 = (int) (total * 0.80);
-        final int T_60 = (int) (total * 0.60);
-
-        // calculate percentiles
-        for (int i = 0; i < histoData.length; i++) {
-            curr += histoData[i];
-
-            if (curr >= T_99 && _99 == null)
-                _99 = Counter.getResTime(i);
-            if (curr >= T_95 && _95 == null)
-                _95 = Counter.getResTime(i);
-            if (curr >= T_90 && _90 == null)
-                _90 = Counter.getResTime(i);
-            if (curr >= T_80 && _80 == null)
-                _80 = Counter.getResTime(i);
-            if (curr >= T_60 && _60 == null)
-                _60 = Counter.getResTime(i);
-
-            if (curr >= total) {
-                _100 = Counter.getResTime(i);
-                break;
-            }
+    /* the range (in ms) of the bucket where the percentile falls in */
+    private long[] getResTime(LogCounter counter, double percentile) {
+        long value = counter.getValueAtPercentile(percentile);
+        int index = counter.getIndex(value);
+        long lower = counter.getValue(index) * unit;
+        long upper = (counter.getUpperValue(index) + 1) * unit;
+        return new long[] { lower / 1000000, (upper + 999999) / 1000000 };
+    }
 
-        }
+    /**
+     * The method calculates arbitrary percentiles, such as 99.9 or 99.99.
+     * 
+     * @param percentile
+     *            the percentile (0-100) to look for
+     * @return the response time in milliseconds, or -1 if not available
+     */
+    public double getPercentile(double percentile) {
+        LogCounter counter = toCounter();
+        if (counter == null)
+            return getKeptPercentile(percentile);
+        long value = counter.getValueAtPercentile(percentile);
+        return value < 0 ? -1D : ((double) value) * unit / 1000000;
     }
 
-    private int calcTotalCount() {
-        int total = 0;
-        for (int i = 0; i < histoData.length; i++)
-            total += histoData[i];
-        return total;
+    /* the upper bound of a kept percentile, e.g. loaded from an archive */
+    private double getKeptPercentile(double percentile) {
+        long[] resTime = null;
+        if (percentile == 50D)
+            resTime = _50;
+        else if (percentile == 60D)
+            resTime = _60;
+        else if (percentile == 80D)
+            resTime = _80;
+        else if (percentile == 90D)
+            resTime = _90;
+        else if (percentile == 95D)
+            resTime = _95;
+        else if (percentile == 99D)
+            resTime = _99;
+        else if (percentile == 99.9D)
+            resTime = _999;
+        else if (percentile == 100D)
+            resTime = _100;
+        return resTime != null ? resTime[1] : -1D;
     }
 
     @Override
     public Histogram clone() {
         try {
-            return (Histogram) super.clone();
+            Histogram histogram = (Histogram) super.clone();
+            if (counts != null)
+                histogram.counts = counts.clone();
+            return histogram;
         } catch (CloneNotSupportedException e) {
         }
         return this;
     }
 
-    public static Histogram convert(Counter counter) {
+    public static Histogram convert(LogCounter counter) {
         Histogram histogram = new Histogram();
-        histogram.setHistoData(retrieveData(counter));
+        histogram.setUnit(counter.getUnit());
+        histogram.setDigits(counter.getDigits());
+        histogram.setHighest(counter.getHighest());
+        histogram.setCounts(counter.getCounts().clone());
         histogram.recalcPercentiles();
         return histogram;
     }
 
-    private static int[] retrieveData(Counter counter) {
-        int size = counter.size();
-        int[] data = new int[size];
-        for (int i = 0; i < size; i++)
-            data[i] = counter.get(i);
-        return data;
-    }
 }
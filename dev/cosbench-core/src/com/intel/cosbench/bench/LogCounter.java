@@ -0,0 +1,205 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.bench;
+
+/**
+ * The class encapsulates the sample counting of response time histogram, the
+ * buckets grow logarithmically so that each recorded value keeps a fixed number
+ * of significant digits over the whole range (in the manner of HdrHistogram).
+ * 
+ * Values are recorded in a configurable unit (microseconds by default), the
+ * counter itself is not thread-safe.
+ * 
+ */
+public class LogCounter {
+
+    /* nanoseconds per unit */
+    public static final long NANOSECONDS = 1L;
+    public static final long MICROSECONDS = 1000L;
+
+    /* default precision for the response time histogram */
+    public static final int DEFAULT_DIGITS = 2;
+
+    /* limit for the response time histogram */
+    public static final long RES_MAX = 24L * 3600 * 1000 * 1000 * 1000; // 24 hours
+
+    private long unit; /* nanoseconds per recorded value */
+    private int digits; /* number of significant digits */
+    private long highest; /* highest trackable value */
+
+    private int subBucketHalfCountMagnitude;
+    private int subBucketHalfCount;
+    private long subBucketMask;
+    private int leadingZeroCountBase;
+
+    private long[] counts;
+
+    public LogCounter(long unit, int digits) {
+        this(unit, digits, RES_MAX / unit, null);
+    }
+
+    public LogCounter(long unit, int digits, long highest, long[] counts) {
+        if (unit <= 0)
+            throw new IllegalArgumentException("illegal unit: " + unit);
+        if (digits < 1 || digits > 5)
+            throw new IllegalArgumentException("illegal digits: " + digits);
+        this.unit = unit;
+        this.digits = digits;
+        this.highest = highest;
+        long largest = 2 * (long) Math.pow(10, digits);
+        int magnitude = (int) Math.ceil(Math.log(largest) / Math.log(2));
+        subBucketHalfCountMagnitude = Math.max(magnitude, 1) - 1;
+        subBucketHalfCount = 1 << subBucketHalfCountMagnitude;
+        subBucketMask = (subBucketHalfCount << 1) - 1;
+        leadingZeroCountBase = 63 - subBucketHalfCountMagnitude;
+        int size = getIndex(highest) + 1;
+        if (counts != null && counts.length != size)
+            throw new IllegalArgumentException("illegal counts: "
+                    + counts.length);
+        this.counts = counts != null ? counts : new long[size];
+    }
+
+    public long getUnit() {
+        return unit;
+    }
+
+    public int getDigits() {
+        return digits;
+    }
+
+    public long getHighest() {
+        return highest;
+    }
+
+    public long[] getCounts() {
+        return counts;
+    }
+
+    public int size() {
+        return counts.length;
+    }
+
+    public long get(int index) {
+        return counts[index];
+    }
+
+    /**
+     * The method counts the value to corresponding bucket.
+     * 
+     * @param value
+     *            the value to be counted, in the unit of this counter
+     */
+    public void doAdd(long value) {
+        counts[getIndex(value)]++;
+    }
+
+    /**
+     * The method counts a response time given in nanoseconds.
+     */
+    public void doAddNanos(long nanos) {
+        doAdd(nanos / unit);
+    }
+
+    /**
+     * Adds up counts from another counter, no precision is lost if both
+     * counters share the same unit and precision.
+     */
+    public void add(LogCounter counter) {
+        if (counter.unit == unit && counter.digits == digits
+                && counter.counts.length == counts.length) {
+            for (int i = 0; i < counts.length; i++)
+                counts[i] += counter.counts[i];
+            return;
+        }
+        for (int i = 0; i < counter.counts.length; i++)
+            if (counter.counts[i] > 0)
+                counts[getIndex(counter.getUpperValue(i) * counter.unit / unit)] += counter.counts[i];
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length; i++)
+            counts[i] = 0;
+    }
+
+    public long getTotalCount() {
+        long total = 0;
+        for (int i = 0; i < counts.length; i++)
+            total += counts[i];
+        return total;
+    }
+
+    public int getIndex(long value) {
+        if (value < 0)
+            value = 0;
+        if (value > highest)
+            value = highest;
+        int bucketIdx = leadingZeroCountBase
+                - Long.numberOfLeadingZeros(value | subBucketMask);
+        int subBucketIdx = (int) (value >>> bucketIdx);
+        return ((bucketIdx + 1) << subBucketHalfCountMagnitude)
+                + (subBucketIdx - subBucketHalfCount);
+    }
+
+    /**
+     * @return the lowest value counted into the given bucket
+     */
+    public long getValue(int index) {
+        int bucketIdx = (index >> subBucketHalfCountMagnitude) - 1;
+        int subBucketIdx = (index & (subBucketHalfCount - 1))
+                + subBucketHalfCount;
+        if (bucketIdx < 0) {
+            subBucketIdx -= subBucketHalfCount;
+            bucketIdx = 0;
+        }
+        return ((long) subBucketIdx) << bucketIdx;
+    }
+
+    /**
+     * @return the highest value counted into the given bucket
+     */
+    public long getUpperValue(int index) {
+        int bucketIdx = Math.max((index >> subBucketHalfCountMagnitude) - 1, 0);
+        return getValue(index) + (1L << bucketIdx) - 1;
+    }
+
+    /**
+     * @param percentile
+     *            the percentile (0-100) to look for
+     * @return the value (in the unit of this counter) at or below which the
+     *         given percentage of counted values fall, -1 if nothing counted
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = getTotalCount();
+        if (total == 0)
+            return -1L;
+        double ratio = Math.min(Math.max(percentile, 0D), 100D) / 100D;
+        long target = Math.max(1L, (long) Math.ceil(ratio * total));
+        long curr = 0;
+        for (int i = 0; i < counts.length; i++) {
+            curr += counts[i];
+            if (curr >= target)
+                return getUpperValue(i);
+        }
+        return getUpperValue(counts.length - 1);
+    }
+
+    public static LogCounter getResCounter() {
+        return new LogCounter(MICROSECONDS, DEFAULT_DIGITS);
+    }
+
+}
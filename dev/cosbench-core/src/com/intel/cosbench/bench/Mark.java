@@ -40,10 +40,22 @@ public class Mark implements Cloneable, Item {
     private int totalOpCount; /* number of total operations */
     private int totalSampleCount; /* number of total samples */
 
-    private long rtSum; /* total response time */
-    private long xtSum; /* total transfer time */
+    private long rtSum; /* total response time in nanoseconds */
+    private long ctSum; /* total response time from intended start */
+    private long xtSum; /* total transfer time in nanoseconds */
     private long byteCount; /* total bytes transferred */
 
+    private int schedCount; /* number of scheduled operations */
+    private int missedCount; /* number of operations started behind schedule */
+    private long qtSum; /* total queueing time in nanoseconds */
+    private long pwSum; /* total connection pool wait in nanoseconds */
+    private long dnsSum; /* total name resolution time in nanoseconds */
+    private long connSum; /* total TCP connect time in nanoseconds */
+    private long tlsSum; /* total TLS handshake time in nanoseconds */
+    private long ttfbSum; /* total time to first response byte in nanoseconds */
+
+    private LogCounter counter; /* latency in the interval, optional */
+
     public Mark() {
         /* empty */
     }
@@ -129,6 +141,14 @@ public class Mark implements Cloneable, Item {
         this.rtSum = rtSum;
     }
 
+    public long getCtSum() {
+        return ctSum;
+    }
+
+    public void setCtSum(long ctSum) {
+        this.ctSum = ctSum;
+    }
+
     public long getXtSum() {
 		return xtSum;
 	}
@@ -145,34 +165,175 @@ public class Mark implements Cloneable, Item {
         this.byteCount = byteCount;
     }
 
+    public int getSchedCount() {
+        return schedCount;
+    }
+
+    public void setSchedCount(int schedCount) {
+        this.schedCount = schedCount;
+    }
+
+    public int getMissedCount() {
+        return missedCount;
+    }
+
+    public void setMissedCount(int missedCount) {
+        this.missedCount = missedCount;
+    }
+
+    public long getQtSum() {
+        return qtSum;
+    }
+
+    public void setQtSum(long qtSum) {
+        this.qtSum = qtSum;
+    }
+
+    public long getPwSum() {
+        return pwSum;
+    }
+
+    public void setPwSum(long pwSum) {
+        this.pwSum = pwSum;
+    }
+
+    public long getDnsSum() {
+        return dnsSum;
+    }
+
+    public void setDnsSum(long dnsSum) {
+        this.dnsSum = dnsSum;
+    }
+
+    public long getConnSum() {
+        return connSum;
+    }
+
+    public void setConnSum(long connSum) {
+        this.connSum = connSum;
+    }
+
+    public long getTlsSum() {
+        return tlsSum;
+    }
+
+    public void setTlsSum(long tlsSum) {
+        this.tlsSum = tlsSum;
+    }
+
+    public long getTtfbSum() {
+        return ttfbSum;
+    }
+
+    public void setTtfbSum(long ttfbSum) {
+        this.ttfbSum = ttfbSum;
+    }
+
+    public LogCounter getCounter() {
+        return counter;
+    }
+
+    public void setCounter(LogCounter counter) {
+        this.counter = counter;
+    }
+
     public void clear() {
         opCount = 0;
         sampleCount = 0;
         totalOpCount = 0;
         totalSampleCount = 0;
         rtSum = 0;
+        ctSum = 0;
         xtSum = 0;
         byteCount = 0;
+        schedCount = 0;
+        missedCount = 0;
+        qtSum = 0;
+        pwSum = 0;
+        dnsSum = 0;
+        connSum = 0;
+        tlsSum = 0;
+        ttfbSum = 0;
+        if (counter != null)
+            counter.reset();
     }
 
     public void addSample(Sample sample) {
         if (sample.isSucc())
         {
             sampleCount += 1;
-            rtSum += sample.getTime();
-            xtSum += sample.getXferTime();
+            rtSum += sample.getNanoTime();
+            if (counter != null)
+                counter.doAddNanos(sample.getNanoTime());
+            ctSum += sample.getCorrectedNanoTime();
+            xtSum += sample.getXferTime() * 1000000;
             byteCount += sample.getBytes();
+            addHttpTimes(Math.max(sample.getPoolWait(), 0L),
+                    sample.getDnsTime(), sample.getConnTime(),
+                    sample.getTlsTime(), sample.getTtfbTime());
         }
         
         totalSampleCount += 1;
     }
 
+    /**
+     * Adds one sample without the need of a sample object.
+     * 
+     * @param queueTime
+     *            how long (in ns) the operation was queued behind schedule
+     */
+    public void addSample(boolean succ, long nanos, long xferNanos,
+            long bytes, long queueTime) {
+        if (succ) {
+            sampleCount += 1;
+            rtSum += nanos;
+            if (counter != null)
+                counter.doAddNanos(nanos);
+            ctSum += queueTime > 0 ? nanos + queueTime : nanos;
+            xtSum += xferNanos;
+            byteCount += bytes;
+        }
+        totalSampleCount += 1;
+    }
+
+    /**
+     * Adds the HTTP request phases (all in nanoseconds) of one successful
+     * sample, to be called along with {@link #addSample}.
+     */
+    public void addHttpTimes(long poolWait, long dnsTime, long connTime,
+            long tlsTime, long ttfbTime) {
+        pwSum += poolWait;
+        dnsSum += dnsTime;
+        connSum += connTime;
+        tlsSum += tlsTime;
+        ttfbSum += ttfbTime;
+    }
+
     public void addOperation(Result result) {
-        if (result.isSucc())
+        addOperation(result.isSucc());
+    }
+
+    public void addOperation(boolean succ) {
+        if (succ)
             opCount += 1;
         totalOpCount += 1;
     }
 
+    /**
+     * Adds one scheduled arrival.
+     * 
+     * @param queueTime
+     *            how long (in ns) the operation was queued behind schedule
+     * @param missed
+     *            whether it was late enough to count as a missed arrival
+     */
+    public void addArrival(long queueTime, boolean missed) {
+        if (missed)
+            missedCount += 1;
+        qtSum += queueTime;
+        schedCount += 1;
+    }
+
 	public static String getMarkType(String opId, String opType,
 			String sampleType, String opName) {
 		return opId + "." + opType + "." + sampleType + "." + opName;
@@ -48,11 +48,20 @@ public class Metrics implements Item, Cloneable {
     
     private double avgResTime; /* average response time */
     private double avgXferTime; /* average transfer time */
+    private double avgCorrResTime; /* average response time from intended start */
     private double throughput; /* operation throughput */
     private double bandwidth; /* network bandwidth */
+    private double avgQueueTime; /* average queueing time */
+    private double avgPoolWait; /* average connection pool wait */
+    private double avgDnsTime; /* average name resolution time */
+    private double avgConnTime; /* average TCP connect time */
+    private double avgTlsTime; /* average TLS handshake time */
+    private double avgTtfbTime; /* average time to first response byte */
+    private int missedCount; /* operations started behind schedule */
 
     /* Latency Details */
     private Histogram latency; /* detailed latency metrics */
+    private Histogram corrLatency; /* latency from intended start */
     
     /* success ratio */
     private double ratio;
@@ -150,6 +159,14 @@ public class Metrics implements Item, Cloneable {
     	this.avgXferTime = avgXferTime;
     }
     
+    public double getAvgCorrResTime() {
+        return avgCorrResTime;
+    }
+
+    public void setAvgCorrResTime(double avgCorrResTime) {
+        this.avgCorrResTime = avgCorrResTime;
+    }
+
     public double getThroughput() {
         return throughput;
     }
@@ -166,6 +183,62 @@ public class Metrics implements Item, Cloneable {
         this.bandwidth = bandwidth;
     }
 
+    public double getAvgQueueTime() {
+        return avgQueueTime;
+    }
+
+    public void setAvgQueueTime(double avgQueueTime) {
+        this.avgQueueTime = avgQueueTime;
+    }
+
+    public double getAvgPoolWait() {
+        return avgPoolWait;
+    }
+
+    public void setAvgPoolWait(double avgPoolWait) {
+        this.avgPoolWait = avgPoolWait;
+    }
+
+    public double getAvgDnsTime() {
+        return avgDnsTime;
+    }
+
+    public void setAvgDnsTime(double avgDnsTime) {
+        this.avgDnsTime = avgDnsTime;
+    }
+
+    public double getAvgConnTime() {
+        return avgConnTime;
+    }
+
+    public void setAvgConnTime(double avgConnTime) {
+        this.avgConnTime = avgConnTime;
+    }
+
+    public double getAvgTlsTime() {
+        return avgTlsTime;
+    }
+
+    public void setAvgTlsTime(double avgTlsTime) {
+        this.avgTlsTime = avgTlsTime;
+    }
+
+    public double getAvgTtfbTime() {
+        return avgTtfbTime;
+    }
+
+    public void setAvgTtfbTime(double avgTtfbTime) {
+        this.avgTtfbTime = avgTtfbTime;
+    }
+
+    public int getMissedCount() {
+        return missedCount;
+    }
+
+    public void setMissedCount(int missedCount) {
+        this.missedCount = missedCount;
+    }
+
     public Histogram getLatency() {
         return latency;
     }
@@ -174,6 +247,14 @@ public class Metrics implements Item, Cloneable {
         this.latency = latency;
     }
     
+    public Histogram getCorrLatency() {
+        return corrLatency;
+    }
+
+    public void setCorrLatency(Histogram corrLatency) {
+        this.corrLatency = corrLatency;
+    }
+
     public void setRatio(double ratio) {
     	this.ratio = ratio;
     }
@@ -212,7 +293,14 @@ public class Metrics implements Item, Cloneable {
         int tsps = mark.getTotalSampleCount();
         long rtSum = mark.getRtSum();
         long xtSum = mark.getXtSum();
+        long ctSum = mark.getCtSum();
         long bytes = mark.getByteCount();
+        long qtSum = mark.getQtSum();
+        long pwSum = mark.getPwSum();
+        long dnsSum = mark.getDnsSum();
+        long connSum = mark.getConnSum();
+        long tlsSum = mark.getTlsSum();
+        long ttfbSum = mark.getTtfbSum();
 		String type = getMetricsType(mark.getOpId(), mark.getOpType(),
 				mark.getSampleType(), mark.getOpName());
         Metrics metrics = newMetrics(type);
@@ -222,10 +310,21 @@ public class Metrics implements Item, Cloneable {
 				.getSampleCount() / metrics.getTotalSampleCount() : 0D);
         metrics.setByteCount(bytes);
         metrics.setWorkerCount(1);
-        metrics.setAvgResTime(rtSum > 0 ? ((double) rtSum) / sps : 0);
-        metrics.setAvgXferTime(xtSum > 0 ? ((double) xtSum) / sps : 0);
+        /* from nanosecond to millisecond */
+        metrics.setAvgResTime(rtSum > 0 ? ((double) rtSum) / sps / 1000000 : 0);
+        metrics.setAvgXferTime(xtSum > 0 ? ((double) xtSum) / sps / 1000000 : 0);
+        metrics.setAvgCorrResTime(ctSum > 0 ? ((double) ctSum) / sps / 1000000 : 0);
+        metrics.setAvgPoolWait(pwSum > 0 ? ((double) pwSum) / sps / 1000000 : 0);
+        metrics.setAvgDnsTime(dnsSum > 0 ? ((double) dnsSum) / sps / 1000000 : 0);
+        metrics.setAvgConnTime(connSum > 0 ? ((double) connSum) / sps / 1000000 : 0);
+        metrics.setAvgTlsTime(tlsSum > 0 ? ((double) tlsSum) / sps / 1000000 : 0);
+        metrics.setAvgTtfbTime(ttfbSum > 0 ? ((double) ttfbSum) / sps / 1000000 : 0);
         metrics.setThroughput(sps > 0 ? ((double) sps) / window * 1000 : 0);
         metrics.setBandwidth(bytes > 0 ? ((double) bytes) / window * 1000 : 0);
+        metrics.setAvgQueueTime(qtSum > 0 ? ((double) qtSum) / tsps / 1000000 : 0);
+        metrics.setMissedCount(mark.getMissedCount());
+        if (mark.getCounter() != null)
+            metrics.setLatency(Histogram.convert(mark.getCounter()));
         return metrics;
     }
 
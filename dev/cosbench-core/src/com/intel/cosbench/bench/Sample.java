@@ -36,8 +36,15 @@ public class Sample {
     private String sampleType;
 
     private long time; /* response time */
+    private long nanoTime = -1L; /* response time in nanoseconds, if known */
     private long xferTime; /* transfer time */
     private long bytes; /* bytes transferred */
+    private long queueTime = -1L; /* queueing time in nanoseconds, -1 if not yet known */
+    private long poolWait = -1L; /* connection pool wait in nanoseconds, -1 if not yet known */
+    private long dnsTime; /* name resolution in nanoseconds */
+    private long connTime; /* TCP connect in nanoseconds */
+    private long tlsTime; /* TLS handshake in nanoseconds */
+    private long ttfbTime; /* wait for the response after sending in nanoseconds */
 
 	public Sample(Date timestamp, String opId, String opType,
 			String sampleType, String opName, boolean succ) {
@@ -106,6 +113,14 @@ public class Sample {
         this.time = time;
     }
 
+    public long getNanoTime() {
+        return nanoTime >= 0 ? nanoTime : time * 1000000;
+    }
+
+    public void setNanoTime(long nanoTime) {
+        this.nanoTime = nanoTime;
+    }
+
     public long getXferTime() {
 		return xferTime;
 	}
@@ -114,6 +129,67 @@ public class Sample {
 		this.xferTime = xferTime;
 	}
 
+    public long getQueueTime() {
+        return queueTime;
+    }
+
+    public void setQueueTime(long queueTime) {
+        this.queueTime = queueTime;
+    }
+
+    public long getPoolWait() {
+        return poolWait;
+    }
+
+    public void setPoolWait(long poolWait) {
+        this.poolWait = poolWait;
+    }
+
+    public long getDnsTime() {
+        return dnsTime;
+    }
+
+    public void setDnsTime(long dnsTime) {
+        this.dnsTime = dnsTime;
+    }
+
+    public long getConnTime() {
+        return connTime;
+    }
+
+    public void setConnTime(long connTime) {
+        this.connTime = connTime;
+    }
+
+    public long getTlsTime() {
+        return tlsTime;
+    }
+
+    public void setTlsTime(long tlsTime) {
+        this.tlsTime = tlsTime;
+    }
+
+    public long getTtfbTime() {
+        return ttfbTime;
+    }
+
+    public void setTtfbTime(long ttfbTime) {
+        this.ttfbTime = ttfbTime;
+    }
+
+    /**
+     * @return the response time measured from the intended start of the
+     *         operation, which also covers the time it has been queued
+     */
+    public long getCorrectedTime() {
+        return queueTime > 0 ? time + queueTime / 1000000 : time;
+    }
+
+    public long getCorrectedNanoTime() {
+        long nanos = getNanoTime();
+        return queueTime > 0 ? nanos + queueTime : nanos;
+    }
+
     public long getBytes() {
         return bytes;
     }
@@ -17,6 +17,8 @@ limitations under the License.
 
 package com.intel.cosbench.bench;
 
+import java.util.*;
+
 import com.intel.cosbench.utils.MapRegistry;
 
 /**
@@ -28,14 +30,22 @@ import com.intel.cosbench.utils.MapRegistry;
  */
 public class Status extends MapRegistry<Mark> {
 
+    /* marks in the order they are added */
+    private List<Mark> slots = new ArrayList<Mark>();
+
     public void addMark(Mark mark) {
         addItem(mark);
+        slots.add(mark);
     }
 
     public Mark getMark(String name) {
         return getItem(name);
     }
 
+    public Mark getMark(int index) {
+        return slots.get(index);
+    }
+
     public Mark[] getAllMarks() {
         return getAllItems().toArray(new Mark[getSize()]);
     }
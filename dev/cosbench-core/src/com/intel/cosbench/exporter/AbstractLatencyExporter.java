@@ -18,9 +18,10 @@ limitations under the License.
 package com.intel.cosbench.exporter;
 
 import java.io.*;
+import java.util.*;
 
 import com.intel.cosbench.bench.*;
-import com.intel.cosbench.model.WorkloadInfo;
+import com.intel.cosbench.model.*;
 
 /**
  * This class is the base class for exporting response time histogram.
@@ -30,8 +31,10 @@ import com.intel.cosbench.model.WorkloadInfo;
  */
 abstract class AbstractLatencyExporter implements LatencyExporter {
 
-    protected int[] accs;
-    protected int[] sums;
+    protected LogCounter layout; /* buckets shared by all histograms */
+    protected List<LogCounter> counters; /* null if no histogram available */
+    protected long[] accs;
+    protected long[] sums;
 
     protected WorkloadInfo workload;
 
@@ -47,26 +50,49 @@ abstract class AbstractLatencyExporter implements LatencyExporter {
     public void export(Writer writer) throws IOException {
         writeHeader(writer);
         writer.flush();
-        int size = 1 + Counter.UL;
-        Report report = workload.getReport();
-        int metricsIdx = 0;
-        int metricsNum = report.getSize();
-        sums = new int[metricsNum];
-        accs = new int[metricsNum];
-        for (Metrics metrics : workload.getReport()) {
-            int sum = 0;
-            if(metrics.getLatency() == null)
-            	continue;
-            int[] data = metrics.getLatency().getHistoData();
-            for (int idx = 0; idx < size; idx++)
-                sum += data[idx];
-            sums[metricsIdx++] = sum;
-        }
-        for (int idx = 0; idx < size; idx++)
-            writeHistogram(writer, idx);
+        initCounters();
+        if (layout == null)
+            return; // no histogram at all
+        for (int idx = 0; idx < layout.size(); idx++)
+            if (hasCount(idx))
+                writeHistogram(writer, idx);
         writer.flush();
     }
 
+    private void initCounters() {
+        counters = new ArrayList<LogCounter>();
+        for (StageInfo stage : workload.getStageInfos())
+            for (Metrics metrics : stage.getReport())
+                if (metrics.getOpName().equals(metrics.getSampleType()))
+                    counters.add(toCounter(metrics.getLatency()));
+        int num = counters.size();
+        sums = new long[num];
+        accs = new long[num];
+        for (int i = 0; i < num; i++)
+            if (counters.get(i) != null)
+                sums[i] = counters.get(i).getTotalCount();
+    }
+
+    private LogCounter toCounter(Histogram latency) {
+        LogCounter counter = latency != null ? latency.toCounter() : null;
+        if (counter == null)
+            return null;
+        if (layout == null)
+            layout = new LogCounter(counter.getUnit(), counter.getDigits(),
+                    counter.getHighest(), null);
+        LogCounter result = new LogCounter(layout.getUnit(),
+                layout.getDigits(), layout.getHighest(), null);
+        result.add(counter); // use the same buckets for all
+        return result;
+    }
+
+    private boolean hasCount(int idx) {
+        for (LogCounter counter : counters)
+            if (counter != null && counter.get(idx) > 0)
+                return true;
+        return false;
+    }
+
     protected abstract void writeHeader(Writer writer) throws IOException;
 
     protected abstract void writeHistogram(Writer writer, int idx)
@@ -17,7 +17,7 @@ limitations under the License.
 
 package com.intel.cosbench.exporter;
 
-import static com.intel.cosbench.exporter.Formats.RATIO;
+import static com.intel.cosbench.exporter.Formats.*;
 
 import java.io.*;
 
@@ -68,27 +68,26 @@ class CSVLatencyExporter extends AbstractLatencyExporter {
     @Override
     protected void writeHistogram(Writer writer, int idx) throws IOException {
         StringBuilder buffer = new StringBuilder();
-        long[] resTime = Counter.getResTime(idx);
-        buffer.append(resTime[0]).append('~');
-        if (resTime[1] < Long.MAX_VALUE)
-            buffer.append(resTime[1]);
+        long unit = layout.getUnit();
+        buffer.append(MILLIS.format(layout.getValue(idx) * unit / 1000000D));
+        buffer.append('~');
+        if (idx < layout.size() - 1)
+            buffer.append(MILLIS.format((layout.getUpperValue(idx) + 1) * unit
+                    / 1000000D));
         else
             buffer.append("+INF");
         buffer.append(',');
-        int metricsIdx = -1;
-        for (StageInfo stage : workload.getStageInfos()) {
-        	for (Metrics metrics : stage.getReport()) {
-        		metricsIdx++;
-        		if (!metrics.getOpName().equals(metrics.getSampleType()) || metrics.getLatency() == null) {
-        			continue; /*skip for special work*/
-        		}
-        		int count = metrics.getLatency().getHistoData()[idx];
-        		buffer.append(count).append(',');
-        		accs[metricsIdx] += count;
-        		double per = sums[metricsIdx] != 0 ?
-        				accs[metricsIdx] / ((double) sums[metricsIdx]) : 0;
-        		buffer.append(RATIO.format(per)).append(',');
-        	}
+        for (int i = 0; i < counters.size(); i++) {
+            LogCounter counter = counters.get(i);
+            if (counter == null) {
+                buffer.append("N/A").append(',').append("N/A").append(',');
+                continue; /* no histogram for the operation */
+            }
+            long count = counter.get(idx);
+            buffer.append(count).append(',');
+            accs[i] += count;
+            double per = sums[i] != 0 ? accs[i] / ((double) sums[i]) : 0;
+            buffer.append(RATIO.format(per)).append(',');
         }
         buffer.setCharAt(buffer.length() - 1, '\n');
         writer.write(buffer.toString());
@@ -51,10 +51,17 @@ class CSVStageExporter extends AbstractStageExporter {
         buffer.append("Throughput").append(suffix);
         buffer.append("Bandwidth").append(suffix);
         buffer.append("Succ-Ratio").append(suffix);
+        buffer.append("50%-ResTime").append(suffix);
+        buffer.append("99%-ResTime").append(suffix);
+        buffer.append("99.9%-ResTime").append(suffix);
+        buffer.append("Avg-DNSTime").append(suffix);
+        buffer.append("Avg-ConnTime").append(suffix);
+        buffer.append("Avg-TLSTime").append(suffix);
+        buffer.append("Avg-TTFB").append(suffix);
         buffer.append("Version-Info");
         buffer.append(',').append(',').append('\n').append(',');
-        for (int i = 0; i < 7; i++)
-            // 7 metrics
+        for (int i = 0; i < 14; i++)
+            // 14 metrics
             for (Metrics metrics : snapshots[0].getReport())
 				buffer.append(
 						StringUtils.join(new Object[] {
@@ -118,6 +125,22 @@ class CSVStageExporter extends AbstractStageExporter {
                 buffer.append("N/A");
             buffer.append(',');
         }
+        /* Response Time Percentiles */
+        for (Metrics metrics : report)
+            writePercentileRT(buffer, metrics.getLatency(), 50D);
+        for (Metrics metrics : report)
+            writePercentileRT(buffer, metrics.getLatency(), 99D);
+        for (Metrics metrics : report)
+            writePercentileRT(buffer, metrics.getLatency(), 99.9D);
+        /* HTTP Request Phases */
+        for (Metrics metrics : report)
+            writePhase(buffer, metrics.getAvgDnsTime());
+        for (Metrics metrics : report)
+            writePhase(buffer, metrics.getAvgConnTime());
+        for (Metrics metrics : report)
+            writePhase(buffer, metrics.getAvgTlsTime());
+        for (Metrics metrics : report)
+            writePhase(buffer, metrics.getAvgTtfbTime());
         /* Version Info */
         buffer.append(snapshot.getMinVersion()).append(',');
         buffer.append(snapshot.getVersion()).append(',');
@@ -125,4 +148,22 @@ class CSVStageExporter extends AbstractStageExporter {
         writer.write(buffer.toString());
     }
 
+    private static void writePhase(StringBuilder buffer, double time) {
+        if (time > 0)
+            buffer.append(NUM.format(time));
+        else
+            buffer.append("N/A");
+        buffer.append(',');
+    }
+
+    private static void writePercentileRT(StringBuilder buffer,
+            Histogram latency, double percentile) {
+        double rt = latency != null ? latency.getPercentile(percentile) : -1D;
+        if (rt > 0)
+            buffer.append(NUM.format(rt));
+        else
+            buffer.append("N/A");
+        buffer.append(',');
+    }
+
 }
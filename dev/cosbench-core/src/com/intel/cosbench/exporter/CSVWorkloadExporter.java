@@ -43,15 +43,33 @@ class CSVWorkloadExporter extends AbstractWorkloadExporter {
         buffer.append("Byte-Count").append(',');
         buffer.append("Avg-ResTime").append(',');
         buffer.append("Avg-ProcTime").append(',');
+        buffer.append("50%-ResTime").append(',');
         buffer.append("60%-ResTime").append(',');
         buffer.append("80%-ResTime").append(',');
         buffer.append("90%-ResTime").append(',');
         buffer.append("95%-ResTime").append(',');
         buffer.append("99%-ResTime").append(',');
+        buffer.append("99.9%-ResTime").append(',');
         buffer.append("100%-ResTime").append(',');
         buffer.append("Throughput").append(',');
         buffer.append("Bandwidth").append(',');
         buffer.append("Succ-Ratio").append(',');
+        buffer.append("Avg-QueueTime").append(',');
+        buffer.append("Missed-Count").append(',');
+        buffer.append("Avg-PoolWait").append(',');
+        buffer.append("Avg-DNSTime").append(',');
+        buffer.append("Avg-ConnTime").append(',');
+        buffer.append("Avg-TLSTime").append(',');
+        buffer.append("Avg-TTFB").append(',');
+        buffer.append("Avg-CorrResTime").append(',');
+        buffer.append("50%-CorrResTime").append(',');
+        buffer.append("60%-CorrResTime").append(',');
+        buffer.append("80%-CorrResTime").append(',');
+        buffer.append("90%-CorrResTime").append(',');
+        buffer.append("95%-CorrResTime").append(',');
+        buffer.append("99%-CorrResTime").append(',');
+        buffer.append("99.9%-CorrResTime").append(',');
+        buffer.append("100%-CorrResTime").append(',');
         buffer.append("Status").append(',');
         buffer.append("Detailed Status").append('\n');
         writer.write(buffer.toString());
@@ -94,6 +112,9 @@ class CSVWorkloadExporter extends AbstractWorkloadExporter {
             buffer.append(RATIO.format(metrics.getRatio())).append(',');
         else
             buffer.append("N/A").append(',');
+        writeQueueInfo(buffer, metrics);
+        writePhaseInfo(buffer, metrics);
+        writeCorrectedInfo(buffer, metrics);
         buffer.append(stage.getState().name().toLowerCase()).append(',');
         for (StateInfo state : stage.getStateHistory()) {
 			buffer.append(
@@ -124,6 +145,20 @@ class CSVWorkloadExporter extends AbstractWorkloadExporter {
          buffer.append("N/A").append(',');
          buffer.append("N/A").append(',');
          buffer.append("N/A").append(',');
+         buffer.append("N/A").append(',');
+         buffer.append("N/A").append(',');
+         buffer.append("N/A").append(',');
+         buffer.append("N/A").append(',');
+         buffer.append("N/A").append(',');
+         buffer.append("N/A").append(',');
+         buffer.append("N/A").append(',');
+         buffer.append("N/A").append(',');
+         buffer.append("N/A").append(',');
+         buffer.append("N/A").append(',');
+         buffer.append("N/A").append(',');
+         buffer.append("N/A").append(',');
+         buffer.append("N/A").append(',');
+         buffer.append("N/A").append(',');
          buffer.append(stage.getState().name().toLowerCase()).append(',');
          for (StateInfo state : stage.getStateHistory()) {
  			buffer.append(
@@ -134,28 +169,75 @@ class CSVWorkloadExporter extends AbstractWorkloadExporter {
          writer.write(buffer.toString());
     }
 
+    private static void writeQueueInfo(StringBuilder buffer, Metrics metrics) {
+        double q = metrics.getAvgQueueTime();
+        if (q > 0)
+            buffer.append(NUM.format(q));
+        else
+            buffer.append("N/A");
+        buffer.append(',');
+        buffer.append(metrics.getMissedCount()).append(',');
+        double w = metrics.getAvgPoolWait();
+        if (w > 0)
+            buffer.append(NUM.format(w));
+        else
+            buffer.append("N/A");
+        buffer.append(',');
+    }
+
+    private static void writePhaseInfo(StringBuilder buffer, Metrics metrics) {
+        double[] phases = { metrics.getAvgDnsTime(), metrics.getAvgConnTime(),
+                metrics.getAvgTlsTime(), metrics.getAvgTtfbTime() };
+        for (double phase : phases) {
+            if (phase > 0)
+                buffer.append(NUM.format(phase));
+            else
+                buffer.append("N/A");
+            buffer.append(',');
+        }
+    }
+
+    private static void writeCorrectedInfo(StringBuilder buffer,
+            Metrics metrics) throws IOException {
+        double c = metrics.getAvgCorrResTime();
+        if (c > 0)
+            buffer.append(NUM.format(c));
+        else
+            buffer.append("N/A");
+        buffer.append(',');
+        writeLatencyInfo(buffer, metrics.getCorrLatency());
+    }
+
     private static void writeLatencyInfo(StringBuilder buffer, Histogram latency)
             throws IOException {
     	if(latency == null) {
-            writePercentileRT(buffer,null);
-            writePercentileRT(buffer, null);
-            writePercentileRT(buffer, null);
-            writePercentileRT(buffer, null);
-            writePercentileRT(buffer, null);
-            writePercentileRT(buffer, null);
+            writePercentileRT(buffer, null, 0D, null);
+            writePercentileRT(buffer, null, 0D, null);
+            writePercentileRT(buffer, null, 0D, null);
+            writePercentileRT(buffer, null, 0D, null);
+            writePercentileRT(buffer, null, 0D, null);
+            writePercentileRT(buffer, null, 0D, null);
+            writePercentileRT(buffer, null, 0D, null);
+            writePercentileRT(buffer, null, 0D, null);
     	}else {
-    		writePercentileRT(buffer, latency.get_60());
-    		writePercentileRT(buffer, latency.get_80());
-    		writePercentileRT(buffer, latency.get_90());
-    		writePercentileRT(buffer, latency.get_95());
-    		writePercentileRT(buffer, latency.get_99());
-    		writePercentileRT(buffer, latency.get_100());
+    		writePercentileRT(buffer, latency, 50D, latency.get_50());
+    		writePercentileRT(buffer, latency, 60D, latency.get_60());
+    		writePercentileRT(buffer, latency, 80D, latency.get_80());
+    		writePercentileRT(buffer, latency, 90D, latency.get_90());
+    		writePercentileRT(buffer, latency, 95D, latency.get_95());
+    		writePercentileRT(buffer, latency, 99D, latency.get_99());
+    		writePercentileRT(buffer, latency, 99.9D, latency.get_999());
+    		writePercentileRT(buffer, latency, 100D, latency.get_100());
     	}
     }
 
-    private static void writePercentileRT(StringBuilder buffer, long[] resTime) {
+    private static void writePercentileRT(StringBuilder buffer,
+            Histogram latency, double percentile, long[] resTime) {
+        double rt = latency != null ? latency.getPercentile(percentile) : -1D;
         if (resTime == null)
             buffer.append("N/A");
+        else if (rt >= 0)
+            buffer.append(NUM.format(rt));
         else
             buffer.append(resTime[1]);
         buffer.append(',');
@@ -36,6 +36,8 @@ class Formats {
 
     public static final NumberFormat NUM = new DecimalFormat("0.##");
 
+    public static final NumberFormat MILLIS = new DecimalFormat("0.######");
+
     public static final NumberFormat RATIO = new DecimalFormat("0.##%");
 
 }
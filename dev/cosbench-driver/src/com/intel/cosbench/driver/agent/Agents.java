@@ -28,11 +28,26 @@ public class Agents {
         return agent;
     }
 
-    public static Agent newWorkAgent(WorkerContext wc, MissionContext mc) {
+    public static Agent newWorkAgent(WorkerContext wc, MissionContext mc,
+            WatchDog dog) {
         WorkAgent agent = new WorkAgent();
         agent.setWorkerContext(wc);
         agent.setOperationPicker(mc.getOperationPicker());
         agent.setOperatorRegistry(mc.getOperatorRegistry());
+        agent.setArrivalSchedule(mc.getArrivalSchedule());
+        agent.setWatchDog(dog);
+        return agent;
+    }
+
+    public static Agent newAsyncWorkAgent(WorkerContext wc, MissionContext mc,
+            WatchDog dog, int inflight) {
+        AsyncWorkAgent agent = new AsyncWorkAgent();
+        agent.setWorkerContext(wc);
+        agent.setOperationPicker(mc.getOperationPicker());
+        agent.setOperatorRegistry(mc.getOperatorRegistry());
+        agent.setArrivalSchedule(mc.getArrivalSchedule());
+        agent.setWatchDog(dog);
+        agent.setInflight(inflight);
         return agent;
     }
 
@@ -0,0 +1,122 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.driver.agent;
+
+import java.util.concurrent.*;
+
+import com.intel.cosbench.api.storage.StorageAPI;
+import com.intel.cosbench.bench.*;
+import com.intel.cosbench.driver.model.OperatorContext;
+import com.intel.cosbench.driver.operator.*;
+import com.intel.cosbench.service.AbortedException;
+
+/**
+ * This class is a work agent driving an event loop: it keeps up to
+ * <code>inflight</code> operations outstanding through the asynchronous
+ * Storage-API instead of waiting for each of them in turn. Samples are
+ * accounted exactly as in the blocking agent, they are just delivered from the
+ * storage I/O threads.
+ * 
+ * Operators without asynchronous support are still executed in a blocking
+ * manner from the agent thread.
+ * 
+ */
+class AsyncWorkAgent extends WorkAgent {
+
+    private static final int DRAIN_TIMEOUT = 30; // in seconds
+
+    private int inflight; /* max outstanding operations */
+    private Semaphore permits;
+    private volatile boolean interrupted = false;
+
+    private Runnable release = new Runnable() {
+        @Override
+        public void run() {
+            permits.release();
+        }
+    };
+
+    public AsyncWorkAgent() {
+        /* empty */
+    }
+
+    public void setInflight(int inflight) {
+        this.inflight = inflight;
+        this.permits = new Semaphore(inflight);
+    }
+
+    @Override
+    protected void dispatch(Operator operator) {
+        if (!(operator instanceof AsyncOperator)) {
+            super.dispatch(operator);
+            return;
+        }
+        try {
+            permits.acquire();
+        } catch (InterruptedException ie) {
+            interrupted = true;
+            throw new AbortedException();
+        }
+        try {
+            ((AsyncOperator) operator).operateAsync(this, release);
+        } catch (RuntimeException re) {
+            permits.release(); // operation not issued
+            throw re;
+        }
+    }
+
+    @Override
+    protected void drainOperations(boolean aborted) {
+        int idx = getIndex();
+        StorageAPI api = getApi();
+        if ((aborted || interrupted) && api != null)
+            api.abort(); // fail outstanding operations
+        try {
+            if (permits.tryAcquire(inflight, DRAIN_TIMEOUT, TimeUnit.SECONDS))
+                permits.release(inflight);
+            else
+                LOGGER.warn("work agent {} still has operations outstanding",
+                        idx);
+        } catch (InterruptedException ie) {
+            LOGGER.debug("work agent {} interrupted when draining", idx);
+        }
+    }
+
+    @Override
+    protected synchronized void onOperationScheduled(OperatorContext op,
+            long queueTime) {
+        super.onOperationScheduled(op, queueTime);
+    }
+
+    @Override
+    public synchronized void onSampleCreated(Sample sample) {
+        super.onSampleCreated(sample);
+    }
+
+    @Override
+    public synchronized void onOperationCompleted(Result result) {
+        super.onOperationCompleted(result);
+    }
+
+    @Override
+    public synchronized void onOperationRecorded(int index, boolean succ,
+            long nanos, long xferNanos, long bytes) {
+        super.onOperationRecorded(index, succ, nanos, xferNanos, bytes);
+    }
+
+}
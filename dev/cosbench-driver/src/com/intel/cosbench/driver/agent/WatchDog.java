@@ -18,58 +18,101 @@ limitations under the License.
 package com.intel.cosbench.driver.agent;
 
 import java.util.*;
+import java.util.concurrent.*;
 
+import com.intel.cosbench.api.storage.StorageAPI;
 import com.intel.cosbench.driver.model.WorkerContext;
 import com.intel.cosbench.log.*;
 
-class WatchDog extends TimerTask {
+/**
+ * This class is the timeout service shared by all work agents of one mission.
+ * It keeps the deadline of every watched worker and checks them from one
+ * single thread at a fixed tick, overdue workers are then aborted together.
+ * 
+ */
+public class WatchDog {
 
     private static final Logger LOGGER = LogFactory.getSystemLogger();
 
-    private WorkerContext workerContext;
+    private static final int GRACE = 10 * 1000; // in milliseconds
 
-    private volatile boolean cancel = false;
+    private static final int TICK = 1000; // in milliseconds
 
-    private Timer timer = new Timer(); /* alarm service */
+    private String name;
 
-    public WatchDog() {
-        /* empty */
+    /* deadlines of all workers being watched */
+    private ConcurrentMap<WorkerContext, Long> deadlines = new ConcurrentHashMap<WorkerContext, Long>();
+
+    private ScheduledExecutorService service; /* alarm service */
+    private ScheduledFuture<?> ticker;
+
+    public WatchDog(String name) {
+        this.name = name;
     }
 
-    public void setWorkerContext(WorkerContext workerContext) {
-        this.workerContext = workerContext;
+    public synchronized void watch(WorkerContext workerContext, long timeout) {
+        if (timeout == 0)
+            return;
+        deadlines.put(workerContext, timeout + 1000 + GRACE);
+        if (ticker == null)
+            ticker = getService().scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    check();
+                }
+            }, TICK, TICK, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void dismiss(WorkerContext workerContext) {
+        if (deadlines.remove(workerContext) == null)
+            return;
+        LOGGER.debug("timeout service for work agent {} has been dismissed",
+                workerContext.getIndex());
+        if (deadlines.isEmpty() && ticker != null) {
+            ticker.cancel(false);
+            ticker = null;
+        }
     }
 
-    public void dismiss() {
-        timer.cancel();
-        this.cancel = true;
-        LOGGER.debug("timeout service has been dismissed");
+    public synchronized void dispose() {
+        deadlines.clear();
+        if (service != null)
+            service.shutdownNow();
+        service = null;
+        ticker = null;
     }
 
-    public void watch(long timeout) {
-        if (timeout != 0)
-            timer.schedule(this, new Date(timeout + 1000));
+    private ScheduledExecutorService getService() {
+        if (service == null)
+            service = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "watchdog-" + name);
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        return service;
     }
 
-    @Override
-    public void run() {
-        int idx = workerContext.getIndex();
-        int secs = 10;
-        while (secs > 0 && !cancel) {
-            LOGGER.debug("work agent {} will timeout in {} seconds", idx, secs);
-            try {
-                Thread.sleep(5000);
-            } catch (InterruptedException ignore) {
-            }
-            secs -= 5;
+    private void check() {
+        long now = System.currentTimeMillis();
+        List<WorkerContext> overdue = new ArrayList<WorkerContext>();
+        for (Map.Entry<WorkerContext, Long> entry : deadlines.entrySet())
+            if (entry.getValue() <= now
+                    && deadlines.remove(entry.getKey(), entry.getValue()))
+                overdue.add(entry.getKey());
+        if (overdue.isEmpty())
+            return;
+        LOGGER.debug("{} work agents have been alerted for timeout",
+                overdue.size());
+        for (WorkerContext workerContext : overdue) {
+            StorageAPI api = workerContext.getStorageApi();
+            if (api != null)
+                api.abort();
         }
-        if (!cancel) {
-            workerContext.getStorageApi().abort();
-        	workerContext.disposeRuntime();
-        	
-            LOGGER.debug("work agent {} has been alerted for timeout", idx);
-        } else
-            LOGGER.debug("work agent {} has completed before timeout", idx);
+        for (WorkerContext workerContext : overdue)
+            workerContext.disposeRuntime();
     }
 
 }
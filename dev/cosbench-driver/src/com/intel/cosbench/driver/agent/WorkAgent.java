@@ -22,6 +22,7 @@ import static com.intel.cosbench.bench.Mark.*;
 import com.intel.cosbench.bench.ErrorStatistics;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 import javax.naming.AuthenticationException;
 
@@ -30,9 +31,11 @@ import com.intel.cosbench.api.auth.AuthException;
 import com.intel.cosbench.api.context.AuthContext;
 import com.intel.cosbench.api.storage.StorageAPI;
 import com.intel.cosbench.bench.*;
+import com.intel.cosbench.client.http.HttpTimings;
 import com.intel.cosbench.config.Mission;
 import com.intel.cosbench.driver.model.*;
 import com.intel.cosbench.driver.operator.*;
+import com.intel.cosbench.driver.util.ArrivalSchedule;
 import com.intel.cosbench.driver.util.AuthCachePool;
 import com.intel.cosbench.driver.util.OperationPicker;
 import com.intel.cosbench.log.Logger;
@@ -47,6 +50,7 @@ class WorkAgent extends AbstractAgent implements Session, OperationListener {
 
     private long lop; /* last operation performed */
     private long lbegin; /* last sample emitted */
+    private long lqueue; /* queueing time of last operation issued, in ns */
     private long lsample; /* last sample collected */
     private long lrsample; /* last sample collected during runtime */
     private long frsample; /* first sample emitted during runtime */
@@ -56,16 +60,17 @@ class WorkAgent extends AbstractAgent implements Session, OperationListener {
     private long check; /* next check point time */
     private long interval; /* interval between check points */
 
-    private int totalOps; /* total operations to be performed */
+    private long totalOps; /* total operations to be performed */
 //    private int op_count;
     private long totalBytes; /* total bytes to be transferred */
     private boolean has_histo; /* collect response time histogram data or not */
 
     private OperationPicker operationPicker;
     private OperatorRegistry operatorRegistry;
+    private ArrivalSchedule arrivalSchedule; /* null for closed-loop works */
 
 //    private boolean isFinished = false;
-    private WatchDog dog = new WatchDog();
+    private WatchDog dog;
 
     private Status currMarks = new Status(); /* for snapshots */
     private Status globalMarks = new Status(); /* for the final report */
@@ -78,8 +83,6 @@ class WorkAgent extends AbstractAgent implements Session, OperationListener {
     public void setWorkerContext(WorkerContext workerContext) {
         super.setWorkerContext(workerContext);
         this.has_histo = workerContext.getMission().hasHisto();
-        
-        dog.setWorkerContext(workerContext);
     }
 
     public void setOperationPicker(OperationPicker operationPicker) {
@@ -90,6 +93,14 @@ class WorkAgent extends AbstractAgent implements Session, OperationListener {
         this.operatorRegistry = operatorRegistry;
     }
 
+    public void setArrivalSchedule(ArrivalSchedule arrivalSchedule) {
+        this.arrivalSchedule = arrivalSchedule;
+    }
+
+    public void setWatchDog(WatchDog dog) {
+        this.dog = dog;
+    }
+
     @Override
     public int getIndex() {
         return workerContext.getIndex();
@@ -119,6 +130,11 @@ class WorkAgent extends AbstractAgent implements Session, OperationListener {
     	return workerContext.getErrorStatistics();
     }
 
+    @Override
+    public long getQueueTime() {
+        return lqueue;
+    }
+
     @Override
     public OperationListener getListener() {
         return this;
@@ -129,11 +145,12 @@ class WorkAgent extends AbstractAgent implements Session, OperationListener {
         initTimes();
         initLimites();
         initMarks();
-        dog.watch(timeout);
+        HttpTimings.get().reset(); // e.g. left over from the login
+        dog.watch(workerContext, timeout);
         try {
             doWork(); // launch work
         } finally {
-            dog.dismiss();
+            dog.dismiss(workerContext);
         }
         /* work agent has completed execution successfully */
     }
@@ -168,6 +185,22 @@ class WorkAgent extends AbstractAgent implements Session, OperationListener {
             currMarks.addMark(newMark(type));
         for (String type : types)
             globalMarks.addMark(newMark(type));
+        for (OperatorContext op : operatorRegistry)
+            currMarks.getMark(op.getIndex()).setCounter(op.newCounter());
+        /* marks for extra samples follow the ones addressed by index */
+        for (OperatorContext op : operatorRegistry) {
+            if (!(op.getOperator() instanceof MultiSampleOperator))
+                continue;
+            MultiSampleOperator operator = (MultiSampleOperator) op.getOperator();
+            for (String sampleType : operator.getExtraSampleTypes()) {
+                String type = getMarkType(op.getId(), op.getOpType(),
+                        sampleType, op.getName());
+                currMarks.addMark(newMark(type));
+                currMarks.getMark(type).setCounter(op.newCounter());
+                globalMarks.addMark(newMark(type));
+            }
+        }
+        workerContext.initCounters(operatorRegistry);
     }
 
     private void doWork() {
@@ -176,12 +209,22 @@ class WorkAgent extends AbstractAgent implements Session, OperationListener {
             try {
                 performOperation();
 			}catch (AbortedException ae) {
+                drainOperations(true);
                 if (lrsample > frsample)
                     doSummary();
                 workerContext.setFinished(true);
             }
+        drainOperations(false);
         doSnapshot();
     }
+
+    /**
+     * Waits for operations still outstanding when the work loop exits, only
+     * agents issuing operations asynchronously have anything to wait for.
+     */
+    protected void drainOperations(boolean aborted) {
+        /* empty */
+    }
         
 
     private void performOperation() {
@@ -189,26 +232,74 @@ class WorkAgent extends AbstractAgent implements Session, OperationListener {
     		throw new AbortedException();
     	if(! workerContext.getStorageApi().isAuthValid())
     		reLogin();
+        long queueTime = lqueue = awaitArrival();
         lbegin = System.currentTimeMillis();
         Random random = workerContext.getRandom();
         String op = operationPicker.pickOperation(random);
         OperatorContext context = operatorRegistry.getOperator(op);
+        if (arrivalSchedule != null)
+            onOperationScheduled(context, queueTime);
+        HttpTimings.get().reset(); // e.g. waits during re-login
         try{
-        	context.getOperator().operate(this);
+        	dispatch(context.getOperator());
         }catch(AuthException ae) {
         	reLogin();
         }
     }
+
+    /**
+     * Waits until the next scheduled arrival is due.
+     * 
+     * @return how long (in ns) the operation has been queued behind schedule
+     */
+    private long awaitArrival() {
+        if (arrivalSchedule == null)
+            return 0L;
+        long due = arrivalSchedule.nextArrival();
+        long wait = due - System.nanoTime();
+        if (wait > 0)
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new AbortedException();
+            }
+        return Math.max(0L, System.nanoTime() - due);
+    }
+
+    protected void onOperationScheduled(OperatorContext op, long queueTime) {
+        int index = op.getIndex(); // marks of operators follow their index
+        boolean missed = arrivalSchedule.isMissed(queueTime);
+        currMarks.getMark(index).addArrival(queueTime, missed);
+        if (lbegin >= begin && lbegin < end)
+            globalMarks.getMark(index).addArrival(queueTime, missed);
+    }
+
+    protected void dispatch(Operator operator) {
+        operator.operate(this);
+    }
     
     @Override
     public void onSampleCreated(Sample sample) {
+        if (sample.getQueueTime() < 0)
+            sample.setQueueTime(lqueue); // issued from the agent thread
+        if (sample.getPoolWait() < 0)
+            setHttpTimes(sample); // issued from the agent thread
         curr = sample.getTimestamp().getTime();
 		String type = getMarkType(sample.getOpId(), sample.getOpType(),
 				sample.getSampleType(), sample.getOpName());
         currMarks.getMark(type).addSample(sample);
         if (lbegin >= begin && lbegin < end && curr > begin && curr <= end) {
             globalMarks.getMark(type).addSample(sample);
-            operatorRegistry.getOperator(sample.getOpId()).addSample(sample);
+            OperatorContext op = operatorRegistry.getOperator(sample.getOpId());
+            if (sample.isSucc()) {
+                if (op.getSampleType().equals(sample.getSampleType()))
+                    workerContext.addLatency(op.getIndex(),
+                            sample.getNanoTime(), sample.getCorrectedNanoTime());
+                else
+                    workerContext.addLatency(op.getIndex(), type,
+                            sample.getNanoTime()); // extra samples
+            }
             if (lbegin < frsample)
                 frsample = lbegin; // first sample emitted during runtime
             lrsample = curr; // last sample collected during runtime
@@ -217,6 +308,16 @@ class WorkAgent extends AbstractAgent implements Session, OperationListener {
         trySnapshot(); // make a snapshot if necessary
     }
 
+    private static void setHttpTimes(Sample sample) {
+        HttpTimings timings = HttpTimings.get();
+        sample.setPoolWait(timings.getPoolWait());
+        sample.setDnsTime(timings.getDnsTime());
+        sample.setConnTime(timings.getConnTime());
+        sample.setTlsTime(timings.getTlsTime());
+        sample.setTtfbTime(timings.getTtfbTime());
+        timings.reset();
+    }
+
     private void trySnapshot() {
         if (lsample < check)
             return;
@@ -250,6 +351,45 @@ class WorkAgent extends AbstractAgent implements Session, OperationListener {
         trySummary(); // make a summary report if necessary
     }
 
+    @Override
+    public void onOperationRecorded(int index, boolean succ, long nanos,
+            long xferNanos, long bytes) {
+        curr = System.currentTimeMillis();
+        boolean runtime = curr > begin && curr <= end;
+        HttpTimings timings = HttpTimings.get();
+        /* sample */
+        addSample(currMarks.getMark(index), succ, nanos, xferNanos, bytes,
+                timings);
+        if (lbegin >= begin && lbegin < end && runtime) {
+            addSample(globalMarks.getMark(index), succ, nanos, xferNanos,
+                    bytes, timings);
+            if (succ)
+                workerContext.addLatency(index, nanos,
+                        lqueue > 0 ? nanos + lqueue : nanos);
+            if (lbegin < frsample)
+                frsample = lbegin; // first sample emitted during runtime
+            lrsample = curr; // last sample collected during runtime
+        }
+        timings.reset();
+        lsample = curr; // last sample collected
+        trySnapshot(); // make a snapshot if necessary
+        /* operation */
+        currMarks.getMark(index).addOperation(succ);
+        if (lop >= begin && lop < end && runtime)
+            globalMarks.getMark(index).addOperation(succ);
+        lop = curr; // last operation performed
+        trySummary(); // make a summary report if necessary
+    }
+
+    private void addSample(Mark mark, boolean succ, long nanos,
+            long xferNanos, long bytes, HttpTimings timings) {
+        mark.addSample(succ, nanos, xferNanos, bytes, lqueue);
+        if (succ)
+            mark.addHttpTimes(timings.getPoolWait(), timings.getDnsTime(),
+                    timings.getConnTime(), timings.getTlsTime(),
+                    timings.getTtfbTime());
+    }
+
     private void trySummary() {
         if ((timeout <= 0 || curr < timeout) // timeout
                 && (totalOps <= 0 || getTotalOps() < totalOps) // operations
@@ -270,10 +410,10 @@ class WorkAgent extends AbstractAgent implements Session, OperationListener {
 /* */
     }
 
-    private int getTotalOps() {
+    private long getTotalOps() {
 //    	return ++op_count;
     	
-        int sum = 0;
+        long sum = 0;
         for (Mark mark : globalMarks)
             sum += mark.getTotalOpCount();
         return sum;
@@ -31,19 +31,29 @@ import com.intel.cosbench.config.ConfigException;
  */
 class ConstantIntGenerator implements IntGenerator {
 
-    private int value;
+    private long value;
 
-    private ConstantIntGenerator(int value) {
+    private ConstantIntGenerator(long value) {
         this.value = value;
     }
 
     @Override
-    public int next(Random random) {
+    public long getLower() {
         return value;
     }
 
     @Override
-    public int next(Random random, int idx, int all) {
+    public long getUpper() {
+        return value;
+    }
+
+    @Override
+    public long next(Random random) {
+        return value;
+    }
+
+    @Override
+    public long next(Random random, int idx, int all) {
         return next(random); // division not supported
     }
 
@@ -61,7 +71,7 @@ class ConstantIntGenerator implements IntGenerator {
     private static ConstantIntGenerator tryParse(String pattern) {
         pattern = StringUtils.substringBetween(pattern, "(", ")");
         String[] args = StringUtils.split(pattern, ',');
-        int value = Integer.parseInt(args[0]);
+        long value = Long.parseLong(args[0]);
         return new ConstantIntGenerator(value);
     }
 
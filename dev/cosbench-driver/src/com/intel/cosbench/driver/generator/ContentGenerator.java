@@ -0,0 +1,37 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.driver.generator;
+
+import java.io.InputStream;
+
+/**
+ * The interface of object content other than plain random or zero bytes, the
+ * content of an object may depend on its name.
+ * 
+ */
+public interface ContentGenerator {
+
+    public InputStream newStream(long size, String name);
+
+    /**
+     * @return the content of an object from the given offset on, e.g. for
+     *         one part of a multipart upload
+     */
+    public InputStream newStream(long offset, long size, String name);
+
+}
@@ -60,4 +60,14 @@ class DefaultSizeGenerator implements SizeGenerator {
         return generator.next(random) * base;
     }
 
+    @Override
+    public long getLower() {
+        return generator.getLower() * base;
+    }
+
+    @Override
+    public long getUpper() {
+        return generator.getUpper() * base;
+    }
+
 }
@@ -37,6 +37,15 @@ public class Generators {
         return generator;
     }
 
+    public static OffsetGenerator getOffsetGenerator(String pattern,
+            long align) {
+        OffsetGenerator generator = RandomOffsetGenerator.parse(pattern, align);
+        if (generator != null)
+            return generator;
+        String msg = "unrecognized offset distribution: " + pattern;
+        throw new ConfigException(msg);
+    }
+
     private static IntGenerator getIntGenerator(String pattern) {
         IntGenerator generator = null;
         if ((generator = ConstantIntGenerator.parse(pattern)) != null)
@@ -49,6 +58,12 @@ public class Generators {
             return generator;
         if ((generator = HistogramIntGenerator.parse(pattern)) != null)
             return generator;
+        if ((generator = ZipfIntGenerator.parse(pattern)) != null)
+            return generator;
+        if ((generator = HotspotIntGenerator.parse(pattern)) != null)
+            return generator;
+        if ((generator = ParetoIntGenerator.parse(pattern)) != null)
+            return generator;
         String msg = "unrecognized distribution: " + pattern;
         throw new ConfigException(msg);
     }
@@ -39,19 +39,21 @@ public class HistogramIntGenerator implements IntGenerator {
 
 	private static class LowerComparator implements Comparator<Bucket> {
 		public int compare(Bucket b1, Bucket b2) {
-			return b1.lower - b2.lower;
+			return b1.lower < b2.lower ? -1 : (b1.lower == b2.lower ? 0 : 1);
 		}
 	}
 
 	private static class Bucket {
 
-		private final int lower;
+		private final long lower;
+		private final long upper;
 		private final UniformIntGenerator gen;
 		private final int weight;
 		private int cumulativeWeight;
 
-		Bucket(int lower, int upper, int weight) {
+		Bucket(long lower, long upper, int weight) {
 			this.lower = lower;
+			this.upper = upper;
 			this.gen = new UniformIntGenerator(lower, upper);
 			this.weight = weight;
 			this.cumulativeWeight = 0;
@@ -68,7 +70,20 @@ public class HistogramIntGenerator implements IntGenerator {
 	}
 
 	@Override
-	public int next(Random random) {
+	public long getLower() {
+		return buckets[0].lower;
+	}
+
+	@Override
+	public long getUpper() {
+		long upper = 0;
+		for (Bucket bucket : buckets)
+			upper = Math.max(upper, bucket.upper);
+		return upper;
+	}
+
+	@Override
+	public long next(Random random) {
 		final int next = RandomUtils.nextInt(random, totalWeight);
 		for (Bucket bucket : buckets) {
 			if (next <= bucket.cumulativeWeight) {
@@ -82,7 +97,7 @@ public class HistogramIntGenerator implements IntGenerator {
 	 * @see com.intel.cosbench.driver.random.IntGenerator#next(java.util.Random, int, int)
 	 */
 	@Override
-	public int next(Random random, int idx, int all) {
+	public long next(Random random, int idx, int all) {
 		throw new NotImplementedException();
 	}
 
@@ -106,16 +121,17 @@ public class HistogramIntGenerator implements IntGenerator {
 			int v2 = StringUtils.lastIndexOf(arg, '|');
 			boolean isOpenRange = ((v2 - v1) == 1) ? true : false;
 			String[] values = StringUtils.split(arg, '|');
-			int lower,upper,weight;
+			long lower,upper;
+			int weight;
 			if (isOpenRange) {
-				lower = Integer.parseInt(values[0]);
+				lower = Long.parseLong(values[0]);
 				upper = UniformIntGenerator.getMAXupper();
 				weight = Integer.parseInt(values[1]);
 			} else if (values.length != 3) {
 				throw new IllegalArgumentException();
 			} else {
-				lower = Integer.parseInt(values[0]);
-				upper = Integer.parseInt(values[1]);
+				lower = Long.parseLong(values[0]);
+				upper = Long.parseLong(values[1]);
 				weight = Integer.parseInt(values[2]);
 			}
 			bucketsList.add(new Bucket(lower, upper, weight));
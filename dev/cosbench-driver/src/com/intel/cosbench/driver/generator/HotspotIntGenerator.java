@@ -0,0 +1,104 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.driver.generator;
+
+import java.util.Random;
+
+import org.apache.commons.lang.StringUtils;
+
+import com.intel.cosbench.config.ConfigException;
+
+/**
+ * This class is to generate integers, it's for hotspot distribution, e.g.
+ * hs(1,10000,80,20), where 80% of the integers come from the lowest 20% of the
+ * range and the rest are uniformly spread over the remaining part.
+ * 
+ */
+class HotspotIntGenerator implements IntGenerator {
+
+    private long lower;
+    private long upper;
+    private double hotOps; /* fraction of integers drawn from the hot set */
+    private double hotKeys; /* fraction of the range being hot */
+
+    public HotspotIntGenerator(long lower, long upper, double hotOps,
+            double hotKeys) {
+        if (lower <= 0 || upper <= 0 || lower > upper)
+            throw new IllegalArgumentException();
+        if (hotOps < 0 || hotOps > 1 || hotKeys <= 0 || hotKeys > 1)
+            throw new IllegalArgumentException();
+        this.lower = lower;
+        this.upper = upper;
+        this.hotOps = hotOps;
+        this.hotKeys = hotKeys;
+    }
+
+    @Override
+    public long getLower() {
+        return lower;
+    }
+
+    @Override
+    public long getUpper() {
+        return upper;
+    }
+
+    @Override
+    public long next(Random random) {
+        return next(random, 1, 1);
+    }
+
+    @Override
+    public long next(Random random, int idx, int all) {
+        long range = upper - lower + 1;
+        long base = range / all;
+        long extra = range % all;
+        long offset = base * (idx - 1) + (extra >= idx - 1 ? idx - 1 : extra);
+        long segment = base + (extra >= idx ? 1 : 0);
+        long hot = Math.max(1L, (long) (segment * hotKeys));
+        long value;
+        if (hot >= segment || random.nextDouble() < hotOps)
+            value = UniformIntGenerator.nextLong(random, hot);
+        else
+            value = hot + UniformIntGenerator.nextLong(random, segment - hot);
+        value += offset + lower;
+        return value;
+    }
+
+    public static HotspotIntGenerator parse(String pattern) {
+        if (!StringUtils.startsWith(pattern, "hs("))
+            return null;
+        try {
+            return tryParse(pattern);
+        } catch (Exception e) {
+        }
+        String msg = "illegal hotspot distribution pattern: " + pattern;
+        throw new ConfigException(msg);
+    }
+
+    private static HotspotIntGenerator tryParse(String pattern) {
+        pattern = StringUtils.substringBetween(pattern, "(", ")");
+        String[] args = StringUtils.split(pattern, ',');
+        long lower = Long.parseLong(args[0]);
+        long upper = Long.parseLong(args[1]);
+        double hotOps = Double.parseDouble(args[2]) / 100;
+        double hotKeys = Double.parseDouble(args[3]) / 100;
+        return new HotspotIntGenerator(lower, upper, hotOps, hotKeys);
+    }
+
+}
@@ -21,8 +21,18 @@ import java.util.Random;
 
 interface IntGenerator {
 
-    public int next(Random random);
+    public long next(Random random);
 
-    public int next(Random random, int idx, int all);
+    /**
+     * @return the lowest integer this generator may return
+     */
+    public long getLower();
+
+    /**
+     * @return the highest integer this generator may return
+     */
+    public long getUpper();
+
+    public long next(Random random, int idx, int all);
 
 }
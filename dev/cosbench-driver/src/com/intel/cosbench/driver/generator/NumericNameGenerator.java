@@ -19,14 +19,20 @@ package com.intel.cosbench.driver.generator;
 
 import java.util.Random;
 
-import org.apache.commons.lang.StringUtils;
-
 class NumericNameGenerator implements NameGenerator {
 
     private String prefix;
     private String suffix;
     private IntGenerator generator;
 
+    /* per-worker buffer for building names */
+    private static final ThreadLocal<StringBuilder> BUFFERS = new ThreadLocal<StringBuilder>() {
+        @Override
+        protected StringBuilder initialValue() {
+            return new StringBuilder(64);
+        }
+    };
+
     public NumericNameGenerator() {
         /* empty */
     }
@@ -45,19 +51,30 @@ class NumericNameGenerator implements NameGenerator {
 
     @Override
     public String next(Random random) {
-        int value = generator.next(random);
-        return StringUtils.join(new Object[] { prefix, value, suffix });
+        long value = generator.next(random);
+        return toName(value);
     }
     
     @Override
-    public int nextKey(Random random) {
+    public long nextKey(Random random) {
         return generator.next(random);
     }    
 
     @Override
     public String next(Random random, int idx, int all) {
-        int value = generator.next(random, idx, all);
-        return StringUtils.join(new Object[] { prefix, value, suffix });
+        long value = generator.next(random, idx, all);
+        return toName(value);
+    }
+
+    private String toName(long value) {
+        StringBuilder buffer = BUFFERS.get();
+        buffer.setLength(0);
+        if (prefix != null)
+            buffer.append(prefix);
+        buffer.append(value);
+        if (suffix != null)
+            buffer.append(suffix);
+        return buffer.toString();
     }
 
 }
@@ -0,0 +1,30 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.driver.generator;
+
+import java.util.Random;
+
+public interface OffsetGenerator {
+
+    /**
+     * @return the offset of a range of the given length, in an object of the
+     *         given size (both in bytes)
+     */
+    public long next(Random random, long size, long length);
+
+}
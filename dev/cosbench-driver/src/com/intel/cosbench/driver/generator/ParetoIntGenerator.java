@@ -0,0 +1,97 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.driver.generator;
+
+import java.util.Random;
+
+import org.apache.commons.lang.StringUtils;
+
+import com.intel.cosbench.config.ConfigException;
+
+/**
+ * This class is to generate integers, it's for (bounded) pareto distribution,
+ * e.g. p(1,10000,1.16), where lower integers are the most popular ones and a
+ * smaller shape spreads the popularity over more integers.
+ * 
+ */
+class ParetoIntGenerator implements IntGenerator {
+
+    private long lower;
+    private long upper;
+    private double alpha;
+
+    public ParetoIntGenerator(long lower, long upper, double alpha) {
+        if (lower <= 0 || upper <= 0 || lower > upper || alpha <= 0)
+            throw new IllegalArgumentException();
+        this.lower = lower;
+        this.upper = upper;
+        this.alpha = alpha;
+    }
+
+    @Override
+    public long getLower() {
+        return lower;
+    }
+
+    @Override
+    public long getUpper() {
+        return upper;
+    }
+
+    @Override
+    public long next(Random random) {
+        return next(random, 1, 1);
+    }
+
+    @Override
+    public long next(Random random, int idx, int all) {
+        long range = upper - lower + 1;
+        long base = range / all;
+        long extra = range % all;
+        long offset = base * (idx - 1) + (extra >= idx - 1 ? idx - 1 : extra);
+        long segment = base + (extra >= idx ? 1 : 0);
+        /* inverse of the pareto cdf bounded to [1, segment + 1) */
+        double tail = Math.pow(segment + 1D, -alpha);
+        double u = random.nextDouble();
+        double x = Math.pow(1D - u * (1D - tail), -1D / alpha);
+        long value = Math.min((long) x, segment) - 1;
+        value += offset + lower;
+        return value;
+    }
+
+    public static ParetoIntGenerator parse(String pattern) {
+        if (!StringUtils.startsWith(pattern, "p("))
+            return null;
+        try {
+            return tryParse(pattern);
+        } catch (Exception e) {
+        }
+        String msg = "illegal pareto distribution pattern: " + pattern;
+        throw new ConfigException(msg);
+    }
+
+    private static ParetoIntGenerator tryParse(String pattern) {
+        pattern = StringUtils.substringBetween(pattern, "(", ")");
+        String[] args = StringUtils.split(pattern, ',');
+        long lower = Long.parseLong(args[0]);
+        long upper = Long.parseLong(args[1]);
+        double alpha = (args.length == 3) ? Double.parseDouble(args[2]) : 1.16;
+        return new ParetoIntGenerator(lower, upper, alpha);
+    }
+
+}
@@ -0,0 +1,119 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.driver.generator;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import com.intel.cosbench.api.storage.Payload;
+
+/**
+ * This class holds large pre-generated payload blocks shared by all writers,
+ * object content is streamed from a random offset into a block so that no
+ * buffer has to be allocated or filled per operation.
+ * 
+ * Blocks are read-only direct buffers, which also lets storage adaptors send
+ * slices of them without copying (see {@link Payload}).
+ * 
+ */
+public class PayloadPool {
+
+    public static final int SIZE = 8 * 1024 * 1024; // 8 MB
+
+    private static class RandomHolder {
+        static final PayloadPool POOL = new PayloadPool(true);
+    }
+
+    private static class ZeroHolder {
+        static final PayloadPool POOL = new PayloadPool(false);
+    }
+
+    private final ByteBuffer block;
+
+    private PayloadPool(boolean isRandom) {
+        ByteBuffer block = ByteBuffer.allocateDirect(SIZE);
+        if (isRandom) {
+            Random random = new Random();
+            byte[] chunk = new byte[4096];
+            while (block.hasRemaining()) {
+                for (int i = 0; i < chunk.length; i++)
+                    chunk[i] = (byte) (random.nextInt(26) + 'a');
+                block.put(chunk, 0, Math.min(chunk.length, block.remaining()));
+            }
+        }
+        block.clear();
+        this.block = block.asReadOnlyBuffer();
+    }
+
+    /**
+     * @param isRandom
+     *            random letters if true, zeros otherwise
+     * @return the shared pool, generated on first use
+     */
+    public static PayloadPool getPool(boolean isRandom) {
+        return isRandom ? RandomHolder.POOL : ZeroHolder.POOL;
+    }
+
+    /**
+     * @return a read-only view over the whole block, its position and limit
+     *         belong to the caller
+     */
+    public ByteBuffer view() {
+        return block.duplicate();
+    }
+
+    /**
+     * @return a read-only view of the payload starting at the given offset,
+     *         it may be shorter than requested at the end of the block
+     */
+    public ByteBuffer slice(long offset, int length) {
+        int from = (int) (offset % SIZE);
+        ByteBuffer slice = block.duplicate();
+        slice.position(from);
+        slice.limit(from + Math.min(length, SIZE - from));
+        return slice.slice();
+    }
+
+    /**
+     * @return a descriptor of the payload starting at the given offset,
+     *         wrapping around at the end of the block as in
+     *         {@link #copy(ByteBuffer, long, byte[], int, int)}
+     */
+    public Payload payload(long offset, long length) {
+        return new Payload(block, offset, length);
+    }
+
+    /**
+     * Copies payload starting at the given offset, wrapping around at the end
+     * of the block.
+     */
+    public static void copy(ByteBuffer view, long offset, byte[] bytes,
+            int off, int len) {
+        while (len > 0) {
+            int from = (int) (offset % SIZE);
+            int segment = Math.min(len, SIZE - from);
+            view.limit(SIZE);
+            view.position(from);
+            view.get(bytes, off, segment);
+            offset += segment;
+            off += segment;
+            len -= segment;
+        }
+    }
+
+}
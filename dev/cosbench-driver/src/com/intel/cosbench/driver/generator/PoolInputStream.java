@@ -0,0 +1,97 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.driver.generator;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * This class streams plain content from a payload pool like
+ * <code>RandomInputStream</code> does without integrity checking, but it can
+ * be pointed to another window of the pool so that one instance serves many
+ * uploads.
+ * 
+ */
+public class PoolInputStream extends InputStream {
+
+    private ByteBuffer payload; /* view over the shared pool */
+    private long start; /* offset into the pool */
+    private long size;
+    private long position;
+    private long mark;
+
+    public PoolInputStream(boolean isRandom) {
+        this.payload = PayloadPool.getPool(isRandom).view();
+    }
+
+    /**
+     * Starts over with another window of the pool.
+     * 
+     * @return this stream
+     */
+    public PoolInputStream init(long start, long size) {
+        this.start = start;
+        this.size = size;
+        this.position = 0;
+        this.mark = 0;
+        return this;
+    }
+
+    @Override
+    public int read() {
+        throw new UnsupportedOperationException("do not read byte by byte");
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+        if (position >= size)
+            return -1;
+        int n = (int) Math.min(length, size - position);
+        PayloadPool.copy(payload, start + position, bytes, offset, n);
+        position += n;
+        return n;
+    }
+
+    @Override
+    public long skip(long n) {
+        long skipped = Math.max(0L, Math.min(n, size - position));
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, size - position);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public void mark(int readlimit) {
+        mark = position;
+    }
+
+    @Override
+    public void reset() {
+        position = mark;
+    }
+
+}
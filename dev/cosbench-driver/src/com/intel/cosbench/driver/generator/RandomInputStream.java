@@ -17,26 +17,26 @@ limitations under the License.
 
 package com.intel.cosbench.driver.generator;
 
+import java.nio.ByteBuffer;
 import java.security.NoSuchAlgorithmException;
 import java.util.Random;
 
 import org.apache.commons.io.input.NullInputStream;
-import org.apache.commons.lang.math.RandomUtils;
 
 import com.intel.cosbench.driver.util.HashUtil;
 import com.intel.cosbench.log.*;
 
 /**
- * This class is to generate random data as input stream for data uploading.
+ * This class is to generate random data as input stream for data uploading,
+ * the data is streamed from a shared payload pool starting at a random offset.
  * 
  * @author ywang19, qzheng7
  * 
  */
 public class RandomInputStream extends NullInputStream {
 
-    private static final int SIZE = 4096; // 4 KB
-
-    private byte[] buffer;
+    private ByteBuffer payload; /* view over the shared pool */
+    private long start; /* offset into the pool */
 
     private boolean hashCheck = false;
     private HashUtil util = null;
@@ -52,13 +52,14 @@ public class RandomInputStream extends NullInputStream {
         super(size);
 
         this.hashCheck = hashCheck;
-        try {
-            this.util = new HashUtil();
-        } catch (NoSuchAlgorithmException e) {
-            logger.error("Alogrithm not found", e);
-        }
-        this.hashLen = this.util.getHashLen();
-        if (size <= hashLen) {
+        if (hashCheck)
+            try {
+                this.util = new HashUtil();
+                this.hashLen = this.util.getHashLen();
+            } catch (NoSuchAlgorithmException e) {
+                logger.error("Alogrithm not found", e);
+            }
+        if (hashCheck && size <= hashLen) {
             logger.warn("The size is too small to embed checksum, will ignore integrity checking.");
             this.hashCheck = false;
             this.util = null;
@@ -66,10 +67,8 @@ public class RandomInputStream extends NullInputStream {
         }
         this.size = size;
 
-        buffer = new byte[SIZE];
-        if (isRandom)
-            for (int i = 0; i < SIZE; i++)
-                buffer[i] = (byte) (RandomUtils.nextInt(random, 26) + 'a');
+        this.payload = PayloadPool.getPool(isRandom).view();
+        this.start = isRandom ? random.nextInt(PayloadPool.SIZE) : 0;
     }
 
     @Override
@@ -81,13 +80,9 @@ public class RandomInputStream extends NullInputStream {
     protected void processBytes(byte[] bytes, int offset, int length) {
 
         if (!hashCheck) {
-            do {
-                int segment = length > SIZE ? SIZE : length;
-                System.arraycopy(buffer, 0, bytes, offset, segment);
-
-                length -= segment;
-                offset += segment;
-            } while (length > 0); // data copy completed
+            /* position has been advanced already */
+            long from = start + getPosition() - length;
+            PayloadPool.copy(payload, from, bytes, offset, length);
 
         } else {
             if (length <= hashLen) {
@@ -100,15 +95,10 @@ public class RandomInputStream extends NullInputStream {
             if (gap > 0) // partial hash needs append in gap area.
                 length -= gap;
 
+            PayloadPool.copy(payload, start + processed, bytes, offset, length);
+            util.update(bytes, offset, length);
             processed += length;
-            do {
-                int segment = length > SIZE ? SIZE : length;
-                System.arraycopy(buffer, 0, bytes, offset, segment);
-                util.update(buffer, 0, segment);
-
-                length -= segment;
-                offset += segment;
-            } while (length > 0); // data copy completed
+            offset += length;
 
             if ((gap <= hashLen) && (gap >= 0)) {
                 // append md5 hash
@@ -0,0 +1,75 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.driver.generator;
+
+import java.util.Random;
+
+import org.apache.commons.lang.StringUtils;
+
+import com.intel.cosbench.config.ConfigException;
+
+/**
+ * This class is to generate offsets for ranged reads, e.g. "uniform" or
+ * "zipf(0.99)", where offsets are multiples of a given alignment and, for
+ * zipfian distribution, the ones near the head of object are the most popular.
+ * 
+ */
+class RandomOffsetGenerator implements OffsetGenerator {
+
+    private long align;
+    private ZipfIntGenerator zipf; /* null if uniform */
+
+    public RandomOffsetGenerator(long align, ZipfIntGenerator zipf) {
+        if (align <= 0)
+            throw new IllegalArgumentException();
+        this.align = align;
+        this.zipf = zipf;
+    }
+
+    @Override
+    public long next(Random random, long size, long length) {
+        long slots = Math.max(size - length, 0L) / align + 1;
+        long slot = zipf != null ? zipf.rank(random, slots) - 1
+                : UniformIntGenerator.nextLong(random, slots);
+        return slot * align;
+    }
+
+    public static RandomOffsetGenerator parse(String pattern, long align) {
+        if (StringUtils.equals(pattern, "uniform"))
+            return new RandomOffsetGenerator(align, null);
+        if (!StringUtils.startsWith(pattern, "zipf"))
+            return null;
+        try {
+            return tryParse(pattern, align);
+        } catch (Exception e) {
+        }
+        String msg = "illegal offset distribution pattern: " + pattern;
+        throw new ConfigException(msg);
+    }
+
+    private static RandomOffsetGenerator tryParse(String pattern, long align) {
+        double theta = 0.99;
+        if (!pattern.equals("zipf"))
+            theta = Double.parseDouble(StringUtils.substringBetween(pattern,
+                    "zipf(", ")"));
+        /* bounds are unused, ranks are drawn over the slots of each object */
+        return new RandomOffsetGenerator(align, new ZipfIntGenerator(1, 1,
+                theta));
+    }
+
+}
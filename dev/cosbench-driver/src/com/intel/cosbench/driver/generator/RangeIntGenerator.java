@@ -20,7 +20,7 @@ package com.intel.cosbench.driver.generator;
 import java.util.LinkedList;
 import java.util.Random;
 import java.util.Vector;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang.StringUtils;
 
@@ -28,10 +28,11 @@ import com.intel.cosbench.config.ConfigException;
 
 public class RangeIntGenerator implements IntGenerator {
 
-    private int lower;
-    private int upper;
+    private long lower;
+    private long upper;
 
-    private AtomicInteger cursors[] = null;
+    /* one cursor per worker, each only touched by its own worker */
+    private volatile AtomicLong cursors[] = null;
 
     static class TestThread extends Thread {
         private int all;
@@ -50,10 +51,10 @@ public class RangeIntGenerator implements IntGenerator {
 
         public void run() {
             int i = 0;
-            LinkedList<Integer> results = new LinkedList<Integer>();
+            LinkedList<Long> results = new LinkedList<Long>();
             try {
                 while (i++ < 11) {
-                    int answer = generator.next(rnd, idx, all);
+                    long answer = generator.next(rnd, idx, all);
                     if (!results.contains(answer)) {
                         System.out.println(this.getName() + ": " + answer);    
                     } else {
@@ -90,7 +91,7 @@ public class RangeIntGenerator implements IntGenerator {
         }
     }
 
-    public RangeIntGenerator(int lower, int upper) {
+    public RangeIntGenerator(long lower, long upper) {
         if (lower <= 0 || upper <= 0 || lower > upper)
             throw new IllegalArgumentException();
         this.lower = lower;
@@ -102,28 +103,39 @@ public class RangeIntGenerator implements IntGenerator {
     	if(cursors != null) 
     		return;
     	
-      	this.cursors = new AtomicInteger[all];
+      	AtomicLong[] cursors = new AtomicLong[all];
 
 		for (int i = 0; i<all; i++) {
-			cursors[i] = new AtomicInteger(0);
+			cursors[i] = new AtomicLong(0);
 		}
+		this.cursors = cursors; // publish once fully built
     }
     
     @Override
-    public int next(Random random) {
+    public long getLower() {
+        return lower;
+    }
+
+    @Override
+    public long getUpper() {
+        return upper;
+    }
+
+    @Override
+    public long next(Random random) {
         return next(random, 1, 1);
     }
 
     @Override
-    public int next(Random random, int idx, int all) {
+    public long next(Random random, int idx, int all) {
     	if(cursors == null)
     		init(all);
     		
-        int range = upper - lower + 1;
-        int base = range / all;
-        int extra = range % all;
-        int offset = base * (idx - 1) + (extra >= idx - 1 ? idx - 1 : extra);
-        int segment = base + (extra >= idx ? 1 : 0);
+        long range = upper - lower + 1;
+        long base = range / all;
+        long extra = range % all;
+        long offset = base * (idx - 1) + (extra >= idx - 1 ? idx - 1 : extra);
+        long segment = base + (extra >= idx ? 1 : 0);
         
     	return lower + offset + cursors[idx-1].getAndIncrement() % segment;
     }
@@ -146,15 +158,15 @@ public class RangeIntGenerator implements IntGenerator {
     private static RangeIntGenerator tryParse(String pattern) {
         pattern = StringUtils.substringBetween(pattern, "(", ")");
         String[] args = StringUtils.split(pattern, ",");
-        int lower = Integer.parseInt(args[0]);
-        int upper = Integer.parseInt(args[1]);
+        long lower = Long.parseLong(args[0]);
+        long upper = Long.parseLong(args[1]);
         return new RangeIntGenerator(lower, upper);
     }
 
     private static RangeIntGenerator tryParseOld(String pattern) {
         String[] args = StringUtils.split(pattern, '-');
-        int lower = Integer.parseInt(args[0]);
-        int upper = Integer.parseInt(args[1]);
+        long lower = Long.parseLong(args[0]);
+        long upper = Long.parseLong(args[1]);
         return new RangeIntGenerator(lower, upper);
     }
 }
@@ -34,11 +34,11 @@ import com.intel.cosbench.config.ConfigException;
  */
 class SequentialIntGenerator implements IntGenerator {
 
-    private int lower;
-    private int range;
+    private long lower;
+    private long range;
     private AtomicLong cursor;
 
-    public SequentialIntGenerator(int lower, int upper) {
+    public SequentialIntGenerator(long lower, long upper) {
         if (lower <= 0 || upper <= 0 || lower > upper)
             throw new IllegalArgumentException();
         this.lower = lower;
@@ -48,12 +48,22 @@ class SequentialIntGenerator implements IntGenerator {
     }
 
     @Override
-    public int next(Random random) {
-        return (int) (lower + (cursor.incrementAndGet() % range));
+    public long getLower() {
+        return lower;
     }
 
     @Override
-    public int next(Random random, int idx, int all) {
+    public long getUpper() {
+        return lower + range - 1;
+    }
+
+    @Override
+    public long next(Random random) {
+        return lower + (cursor.incrementAndGet() % range);
+    }
+
+    @Override
+    public long next(Random random, int idx, int all) {
         return next(random);
 
     }
@@ -74,8 +84,8 @@ class SequentialIntGenerator implements IntGenerator {
     private static SequentialIntGenerator tryParse(String pattern) {
         pattern = StringUtils.substringBetween(pattern, "(", ")");
         String[] args = StringUtils.split(pattern, ",");
-        int lower = Integer.parseInt(args[0]);
-        int upper = Integer.parseInt(args[1]);
+        long lower = Long.parseLong(args[0]);
+        long upper = Long.parseLong(args[1]);
         return new SequentialIntGenerator(lower, upper);
     }
 }
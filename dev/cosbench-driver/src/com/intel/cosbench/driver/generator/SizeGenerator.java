@@ -23,4 +23,8 @@ public interface SizeGenerator {
 
     public long next(Random random); // in bytes
 
+    public long getLower(); // in bytes
+
+    public long getUpper(); // in bytes
+
 }
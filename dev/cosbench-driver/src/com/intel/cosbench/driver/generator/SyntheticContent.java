@@ -0,0 +1,192 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.driver.generator;
+
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+import org.apache.commons.lang.StringUtils;
+
+import com.intel.cosbench.config.ConfigException;
+
+/**
+ * This class describes synthetic object content with a target compression
+ * ratio and dedupe ratio, e.g. "content=synthetic;compress=2.5;dedupe=30%".
+ * 
+ * Content is made of fixed-size blocks, each one starts with its own 64-bit
+ * seed followed by incompressible noise and then zeros. The noise is generated
+ * from the block seed, so unique blocks never share any run of noise. The amount of noise is
+ * calibrated against DEFLATE so that the whole stream compresses by the
+ * requested ratio. Given a dedupe ratio, that share of blocks is drawn from a
+ * small set of common blocks instead of being unique. Which blocks are
+ * duplicates and what they contain only depends on the object name.
+ * 
+ */
+public class SyntheticContent implements ContentGenerator {
+
+    public static final int BLOCK = 4096; // 4 KB, the dedupe unit
+
+    private static final int HEADER = 8; // block seed
+    private static final int COMMON = 1024; // number of distinct common blocks
+
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+    private static final long COMMON_SALT = 0x5DEECE66DL;
+
+    private double compress; /* target compression ratio */
+    private double dedupe; /* share of duplicate blocks */
+    private int noise; /* bytes of noise per block */
+
+    public SyntheticContent(double compress, double dedupe) {
+        if (compress < 1 || dedupe < 0 || dedupe > 1)
+            throw new IllegalArgumentException();
+        this.compress = compress;
+        this.dedupe = dedupe;
+        this.noise = calibrate(compress);
+    }
+
+    public double getCompress() {
+        return compress;
+    }
+
+    public double getDedupe() {
+        return dedupe;
+    }
+
+    /**
+     * @param compress
+     *            the compression ratio, e.g. "2.5"
+     * @param dedupe
+     *            the share of duplicate blocks, e.g. "30%"
+     */
+    public static SyntheticContent parse(String compress, String dedupe) {
+        try {
+            double c = Double.parseDouble(compress);
+            double d = StringUtils.endsWith(dedupe, "%") ? Double
+                    .parseDouble(StringUtils.removeEnd(dedupe, "%")) / 100
+                    : Double.parseDouble(dedupe);
+            return new SyntheticContent(c, d);
+        } catch (Exception e) {
+        }
+        String msg = "illegal synthetic content: compress=" + compress
+                + ", dedupe=" + dedupe;
+        throw new ConfigException(msg);
+    }
+
+    @Override
+    public InputStream newStream(long size, String name) {
+        return newStream(0L, size, name);
+    }
+
+    @Override
+    public InputStream newStream(long offset, long size, String name) {
+        return new SyntheticInputStream(this, offset, size, hash(name));
+    }
+
+    /**
+     * Fills bytes with the content found at the given position of the object.
+     */
+    void fill(long nameSeed, long position, byte[] bytes, int offset,
+            int length) {
+        while (length > 0) {
+            long index = position / BLOCK;
+            int from = (int) (position % BLOCK);
+            int segment = Math.min(length, BLOCK - from);
+            fillBlock(blockSeed(nameSeed, index), from, bytes, offset,
+                    segment);
+            position += segment;
+            offset += segment;
+            length -= segment;
+        }
+    }
+
+    private long blockSeed(long nameSeed, long index) {
+        long seed = mix(nameSeed + index * GOLDEN);
+        if (dedupe > 0 && (mix(seed) >>> 11) * 0x1.0p-53 < dedupe)
+            seed = mix(COMMON_SALT + (seed >>> 1) % COMMON);
+        return seed;
+    }
+
+    /* writes part [from, from + length) of the block with the given seed */
+    private void fillBlock(long seed, int from, byte[] bytes, int offset,
+            int length) {
+        int to = from + length;
+        int pos = from;
+        for (; pos < HEADER && pos < to; pos++)
+            bytes[offset++] = (byte) (seed >>> (56 - pos * 8));
+        int end = Math.min(noise, to);
+        while (pos < end) {
+            /* each 8-byte word of noise is derived from the seed on its own */
+            long word = mix(seed + (pos >>> 3) * GOLDEN);
+            int shift = 56 - (pos & 7) * 8;
+            int stop = Math.min((pos | 7) + 1, end);
+            for (; pos < stop; pos++, shift -= 8)
+                bytes[offset++] = (byte) (word >>> shift);
+        }
+        if (pos < to)
+            Arrays.fill(bytes, offset, offset + (to - pos), (byte) 0);
+    }
+
+    /*
+     * Searches the amount of noise per block giving the target ratio, the
+     * compressed size shrinks as noise decreases.
+     */
+    private int calibrate(double compress) {
+        if (compress <= 1)
+            return BLOCK;
+        int blocks = 64;
+        byte[] sample = new byte[BLOCK * blocks];
+        byte[] out = new byte[sample.length + 1024];
+        int low = HEADER, high = BLOCK;
+        while (low < high) {
+            int mid = (low + high) / 2;
+            this.noise = mid;
+            for (int i = 0; i < blocks; i++)
+                fillBlock(mix(i), 0, sample, i * BLOCK, BLOCK);
+            Deflater deflater = new Deflater();
+            deflater.setInput(sample);
+            deflater.finish();
+            int len = 0;
+            while (!deflater.finished())
+                len += deflater.deflate(out);
+            deflater.end();
+            if ((double) sample.length / len > compress)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    private static long hash(String name) {
+        long h = 0xCBF29CE484222325L; // FNV-1a
+        for (int i = 0; i < name.length(); i++) {
+            h ^= name.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    /* splitmix64 finalizer */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+}
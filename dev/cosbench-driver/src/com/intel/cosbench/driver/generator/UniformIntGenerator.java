@@ -20,7 +20,6 @@ package com.intel.cosbench.driver.generator;
 import java.util.Random;
 
 import org.apache.commons.lang.StringUtils;
-import org.apache.commons.lang.math.RandomUtils;
 
 import com.intel.cosbench.config.ConfigException;
 
@@ -32,11 +31,11 @@ import com.intel.cosbench.config.ConfigException;
  */
 class UniformIntGenerator implements IntGenerator {
 
-    private int lower;
-    private int upper;
-    private static  int MAXupper = Integer.MAX_VALUE;
+    private long lower;
+    private long upper;
+    private static  long MAXupper = Integer.MAX_VALUE;
 
-    public UniformIntGenerator(int lower, int upper) {
+    public UniformIntGenerator(long lower, long upper) {
         if (lower <= 0 || upper <= 0 || lower > upper)
             throw new IllegalArgumentException();
         this.lower = lower;
@@ -44,18 +43,28 @@ class UniformIntGenerator implements IntGenerator {
     }
 
     @Override
-    public int next(Random random) {
+    public long getLower() {
+        return lower;
+    }
+
+    @Override
+    public long getUpper() {
+        return upper;
+    }
+
+    @Override
+    public long next(Random random) {
         return next(random, 1, 1);
     }
 
     @Override
-    public int next(Random random, int idx, int all) {
-        int range = upper - lower + 1;
-        int base = range / all;
-        int extra = range % all;
-        int offset = base * (idx - 1) + (extra >= idx - 1 ? idx - 1 : extra);
-        int segment = base + (extra >= idx ? 1 : 0);
-        int value = RandomUtils.nextInt(random, segment);
+    public long next(Random random, int idx, int all) {
+        long range = upper - lower + 1;
+        long base = range / all;
+        long extra = range % all;
+        long offset = base * (idx - 1) + (extra >= idx - 1 ? idx - 1 : extra);
+        long segment = base + (extra >= idx ? 1 : 0);
+        long value = nextLong(random, segment);
         value += offset + lower;
         return value;
     }
@@ -74,13 +83,28 @@ class UniformIntGenerator implements IntGenerator {
     private static UniformIntGenerator tryParse(String pattern) {
         pattern = StringUtils.substringBetween(pattern, "(", ")");
         String[] args = StringUtils.split(pattern, ',');
-        int lower = Integer.parseInt(args[0]);
-        int upper = (args.length == 2) ? Integer.parseInt(args[1]) : MAXupper;
+        long lower = Long.parseLong(args[0]);
+        long upper = (args.length == 2) ? Long.parseLong(args[1]) : MAXupper;
         return new UniformIntGenerator(lower, upper);
     }
 
-    public static int getMAXupper () {
+    public static long getMAXupper () {
 		return MAXupper;
 	}
 
+    /**
+     * Returns a uniformly distributed value in [0, n), ranges that fit in an
+     * int take the same path as before.
+     */
+    static long nextLong(Random random, long n) {
+        if (n <= Integer.MAX_VALUE)
+            return random.nextInt((int) n);
+        long bits, value;
+        do {
+            bits = random.nextLong() >>> 1;
+            value = bits % n;
+        } while (bits - value + (n - 1) < 0L);
+        return value;
+    }
+
 }
@@ -0,0 +1,125 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.driver.generator;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * This class describes position-independent object content, e.g.
+ * "content=verifiable;seed=42", where every byte is a pure function of the
+ * object name, its offset and the seed.
+ * 
+ * Content is generated in 64-bit words, word n of an object being a hash of
+ * (name, seed, n) laid out in little-endian order. Any range of any object can
+ * hence be verified without reading the rest of it or storing metadata.
+ * 
+ */
+public class VerifiableContent implements ContentGenerator {
+
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    private long seed;
+
+    public VerifiableContent(long seed) {
+        this.seed = seed;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public InputStream newStream(long size, String name) {
+        return newStream(0L, size, name);
+    }
+
+    @Override
+    public InputStream newStream(long offset, long size, String name) {
+        return new VerifiableInputStream(offset, size, getNameSeed(name));
+    }
+
+    public long getNameSeed(String name) {
+        long h = 0xCBF29CE484222325L ^ seed; // FNV-1a
+        for (int i = 0; i < name.length(); i++) {
+            h ^= name.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    /**
+     * Fills bytes with the content found at the given position of the object.
+     */
+    public static void fill(long nameSeed, long position, byte[] bytes,
+            int offset, int length) {
+        int end = offset + length;
+        /* leading bytes up to a word boundary */
+        while (offset < end && (position & 7) != 0)
+            bytes[offset++] = byteAt(nameSeed, position++);
+        ByteBuffer words = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        long word = position >>> 3;
+        for (; offset + 8 <= end; offset += 8, position += 8)
+            words.putLong(offset, wordAt(nameSeed, word++));
+        while (offset < end)
+            bytes[offset++] = byteAt(nameSeed, position++);
+    }
+
+    /**
+     * Checks bytes read from the given position of the object.
+     * 
+     * @return the position of the first byte not matching, or -1 if all match
+     */
+    public static long verify(long nameSeed, long position, byte[] bytes,
+            int offset, int length) {
+        int end = offset + length;
+        while (offset < end && (position & 7) != 0) {
+            if (bytes[offset++] != byteAt(nameSeed, position))
+                return position;
+            position++;
+        }
+        ByteBuffer words = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        long word = position >>> 3;
+        for (; offset + 8 <= end; offset += 8, position += 8)
+            if (words.getLong(offset) != wordAt(nameSeed, word++))
+                break; // locate the byte below
+        while (offset < end) {
+            if (bytes[offset++] != byteAt(nameSeed, position))
+                return position;
+            position++;
+        }
+        return -1L;
+    }
+
+    private static byte byteAt(long nameSeed, long position) {
+        return (byte) (wordAt(nameSeed, position >>> 3) >>> ((position & 7) * 8));
+    }
+
+    private static long wordAt(long nameSeed, long word) {
+        return mix(nameSeed + word * GOLDEN);
+    }
+
+    /* splitmix64 finalizer */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+}
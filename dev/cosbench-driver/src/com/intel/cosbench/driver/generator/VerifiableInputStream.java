@@ -0,0 +1,51 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.driver.generator;
+
+import org.apache.commons.io.input.NullInputStream;
+
+/**
+ * This class is to generate verifiable data as input stream for data
+ * uploading.
+ * 
+ * @see VerifiableContent
+ */
+class VerifiableInputStream extends NullInputStream {
+
+    private long start; /* offset of the first byte in the object */
+    private long seed; /* derived from the object name */
+
+    public VerifiableInputStream(long start, long size, long seed) {
+        super(size);
+        this.start = start;
+        this.seed = seed;
+    }
+
+    @Override
+    protected int processByte() {
+        throw new UnsupportedOperationException("do not read byte by byte");
+    }
+
+    @Override
+    protected void processBytes(byte[] bytes, int offset, int length) {
+        /* position has been advanced already */
+        VerifiableContent.fill(seed, start + getPosition() - length, bytes,
+                offset, length);
+    }
+
+}
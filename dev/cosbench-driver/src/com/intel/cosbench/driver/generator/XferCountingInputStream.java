@@ -18,6 +18,21 @@ public class XferCountingInputStream extends CountingInputStream{
 	public XferCountingInputStream(InputStream in) {
 		super(in);	
 	}
+
+	/**
+	 * Starts over with another stream, so that one instance serves many
+	 * uploads.
+	 * 
+	 * @return this stream
+	 */
+	public XferCountingInputStream init(InputStream in) {
+		this.in = in;
+		resetByteCount();
+		this.xferStart = 0L;
+		this.xferEnd = 0L;
+		this.isFirstByte = true;
+		return this;
+	}
 	
 	@Override
 	public int read() throws IOException {
@@ -48,6 +63,19 @@ public class XferCountingInputStream extends CountingInputStream{
 		this.xferEnd = System.nanoTime();
 	}
 	
+	/**
+	 * @return when the first read returned (from System.nanoTime), or 0 if
+	 *         nothing has been read yet
+	 */
+	public long getFirstByteNanos() {
+		return xferStart;
+	}
+
+	public long getXferNanoTime() {
+		long xferTime = this.xferEnd - this.xferStart;
+		return xferTime > 0 ? xferTime : 0L;
+	}
+
 	public long getXferTime() {
 		long xferTime = (this.xferEnd - this.xferStart) / 1000000;
 		return xferTime > 0 ? xferTime : 0L;
@@ -0,0 +1,188 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.driver.generator;
+
+import java.util.Random;
+
+import org.apache.commons.lang.StringUtils;
+
+import com.intel.cosbench.config.ConfigException;
+
+/**
+ * This class is to generate integers, it's for zipfian distribution, e.g.
+ * z(1,10000000,0.99), where lower integers are the most popular ones.
+ * 
+ * Sampling is done by rejection-inversion (W. Hormann and G. Derflinger), which
+ * costs O(1) per call and needs no table whatever the range is.
+ * 
+ */
+class ZipfIntGenerator implements IntGenerator {
+
+    private long lower;
+    private long upper;
+    private double theta;
+
+    /* samplers for the two possible segment sizes */
+    private volatile Sampler base;
+    private volatile Sampler extra;
+
+    public ZipfIntGenerator(long lower, long upper, double theta) {
+        if (lower <= 0 || upper <= 0 || lower > upper || theta <= 0)
+            throw new IllegalArgumentException();
+        this.lower = lower;
+        this.upper = upper;
+        this.theta = theta;
+    }
+
+    @Override
+    public long getLower() {
+        return lower;
+    }
+
+    @Override
+    public long getUpper() {
+        return upper;
+    }
+
+    @Override
+    public long next(Random random) {
+        return next(random, 1, 1);
+    }
+
+    @Override
+    public long next(Random random, int idx, int all) {
+        long range = upper - lower + 1;
+        long base = range / all;
+        long extra = range % all;
+        long offset = base * (idx - 1) + (extra >= idx - 1 ? idx - 1 : extra);
+        long segment = base + (extra >= idx ? 1 : 0);
+        long value = rank(random, segment) - 1;
+        value += offset + lower;
+        return value;
+    }
+
+    /**
+     * @return a rank from 1 to n, 1 being the most popular one
+     */
+    long rank(Random random, long n) {
+        return getSampler(n).sample(random);
+    }
+
+    private Sampler getSampler(long segment) {
+        Sampler sampler = base;
+        if (sampler != null && sampler.n == segment)
+            return sampler;
+        sampler = extra;
+        if (sampler != null && sampler.n == segment)
+            return sampler;
+        sampler = new Sampler(segment, theta);
+        if (base == null)
+            base = sampler;
+        else
+            extra = sampler;
+        return sampler;
+    }
+
+    public static ZipfIntGenerator parse(String pattern) {
+        if (!StringUtils.startsWith(pattern, "z("))
+            return null;
+        try {
+            return tryParse(pattern);
+        } catch (Exception e) {
+        }
+        String msg = "illegal zipfian distribution pattern: " + pattern;
+        throw new ConfigException(msg);
+    }
+
+    private static ZipfIntGenerator tryParse(String pattern) {
+        pattern = StringUtils.substringBetween(pattern, "(", ")");
+        String[] args = StringUtils.split(pattern, ',');
+        long lower = Long.parseLong(args[0]);
+        long upper = Long.parseLong(args[1]);
+        double theta = (args.length == 3) ? Double.parseDouble(args[2]) : 0.99;
+        return new ZipfIntGenerator(lower, upper, theta);
+    }
+
+    /**
+     * Draws ranks from 1 to n, rank k with a probability proportional to
+     * 1/k^theta, all constants are computed once.
+     */
+    private static class Sampler {
+
+        private final long n;
+        private final double theta;
+        private final double hIntegralX1;
+        private final double hIntegralN;
+        private final double s;
+
+        Sampler(long n, double theta) {
+            this.n = n;
+            this.theta = theta;
+            this.hIntegralX1 = hIntegral(1.5D) - 1D;
+            this.hIntegralN = hIntegral(n + 0.5D);
+            this.s = 2D - hIntegralInverse(hIntegral(2.5D) - h(2D));
+        }
+
+        long sample(Random random) {
+            while (true) {
+                double u = hIntegralN + random.nextDouble()
+                        * (hIntegralX1 - hIntegralN);
+                double x = hIntegralInverse(u);
+                long k = (long) (x + 0.5D);
+                if (k < 1)
+                    k = 1;
+                else if (k > n)
+                    k = n;
+                if (k - x <= s || u >= hIntegral(k + 0.5D) - h(k))
+                    return k;
+            }
+        }
+
+        private double h(double x) {
+            return Math.exp(-theta * Math.log(x));
+        }
+
+        private double hIntegral(double x) {
+            double logX = Math.log(x);
+            return helper2((1D - theta) * logX) * logX;
+        }
+
+        private double hIntegralInverse(double x) {
+            double t = x * (1D - theta);
+            if (t < -1D)
+                t = -1D;
+            return Math.exp(helper1(t) * x);
+        }
+
+        /* log(1+x)/x, accurate for small x */
+        private static double helper1(double x) {
+            if (Math.abs(x) > 1e-8)
+                return Math.log1p(x) / x;
+            return 1D - x * (0.5D - x * (1D / 3D - 0.25D * x));
+        }
+
+        /* (exp(x)-1)/x, accurate for small x */
+        private static double helper2(double x) {
+            if (Math.abs(x) > 1e-8)
+                return Math.expm1(x) / x;
+            return 1D + x * 0.5D * (1D + x * (1D / 3D) * (1D + 0.25D * x));
+        }
+
+    }
+
+}
@@ -26,12 +26,12 @@ class EmptyIterator implements IntIterator {
     }
 
     @Override
-    public int next(int cursor) {
+    public long next(long cursor) {
         return next(cursor, 1, 1);
     }
 
     @Override
-    public int next(int cursor, int idx, int all) {
+    public long next(long cursor, int idx, int all) {
         return -1;
     }
 
@@ -19,8 +19,8 @@ package com.intel.cosbench.driver.iterator;
 
 interface IntIterator {
 
-    public int next(int cursor);
+    public long next(long cursor);
 
-    public int next(int cursor, int idx, int all);
+    public long next(long cursor, int idx, int all);
 
 }
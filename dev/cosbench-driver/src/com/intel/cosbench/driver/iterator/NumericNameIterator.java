@@ -43,7 +43,7 @@ class NumericNameIterator implements NameIterator {
 
     @Override
     public String next(String curr) {
-        int value;
+        long value;
         if (StringUtils.isEmpty(curr)) {
             if ((value = iterator.next(0)) <= 0)
                 return null;
@@ -51,14 +51,14 @@ class NumericNameIterator implements NameIterator {
         }
         curr = StringUtils.removeStart(curr, prefix);
         curr = StringUtils.removeEnd(curr, suffix);
-        if ((value = iterator.next(Integer.parseInt(curr))) <= 0)
+        if ((value = iterator.next(Long.parseLong(curr))) <= 0)
             return null;
         return StringUtils.join(new Object[] { prefix, value, suffix });
     }
 
     @Override
     public String next(String curr, int idx, int all) {
-        int value;
+        long value;
         if (StringUtils.isEmpty(curr)) {
             if ((value = iterator.next(0, idx, all)) <= 0)
                 return null;
@@ -66,7 +66,7 @@ class NumericNameIterator implements NameIterator {
         }
         curr = StringUtils.removeStart(curr, prefix);
         curr = StringUtils.removeEnd(curr, suffix);
-        if ((value = iterator.next(Integer.parseInt(curr), idx, all)) <= 0)
+        if ((value = iterator.next(Long.parseLong(curr), idx, all)) <= 0)
             return null;
         return StringUtils.join(new Object[] { prefix, value, suffix });
     }
@@ -23,10 +23,10 @@ import com.intel.cosbench.config.ConfigException;
 
 class RangeIterator implements IntIterator {
 
-    private int lower;
-    private int upper;
+    private long lower;
+    private long upper;
 
-    public RangeIterator(int lower, int upper) {
+    public RangeIterator(long lower, long upper) {
         if (lower <= 0 || upper <= 0 || lower > upper)
             throw new IllegalArgumentException();
         this.lower = lower;
@@ -34,18 +34,18 @@ class RangeIterator implements IntIterator {
     }
 
     @Override
-    public int next(int cursor) {
+    public long next(long cursor) {
         return next(cursor, 1, 1);
     }
 
     @Override
-    public int next(int cursor, int idx, int all) {
-        int range = upper - lower + 1;
-        int base = range / all;
-        int extra = range % all;
-        int offset = base * (idx - 1) + (extra >= idx - 1 ? idx - 1 : extra);
-        int segment = base + (extra >= idx ? 1 : 0);
-        int limit = segment + offset + lower;
+    public long next(long cursor, int idx, int all) {
+        long range = upper - lower + 1;
+        long base = range / all;
+        long extra = range % all;
+        long offset = base * (idx - 1) + (extra >= idx - 1 ? idx - 1 : extra);
+        long segment = base + (extra >= idx ? 1 : 0);
+        long limit = segment + offset + lower;
         cursor = cursor <= 0 ? limit - segment : cursor + 1;
         return cursor < limit ? cursor : -1;
     }
@@ -68,15 +68,15 @@ class RangeIterator implements IntIterator {
     private static RangeIterator tryParse(String pattern) {
         pattern = StringUtils.substringBetween(pattern, "(", ")");
         String[] args = StringUtils.split(pattern, ",");
-        int lower = Integer.parseInt(args[0]);
-        int upper = Integer.parseInt(args[1]);
+        long lower = Long.parseLong(args[0]);
+        long upper = Long.parseLong(args[1]);
         return new RangeIterator(lower, upper);
     }
 
     private static RangeIterator tryParseOld(String pattern) {
         String[] args = StringUtils.split(pattern, '-');
-        int lower = Integer.parseInt(args[0]);
-        int upper = Integer.parseInt(args[1]);
+        long lower = Long.parseLong(args[0]);
+        long upper = Long.parseLong(args[1]);
         return new RangeIterator(lower, upper);
     }
 
@@ -23,6 +23,7 @@ import java.util.concurrent.Future;
 import com.intel.cosbench.bench.*;
 import com.intel.cosbench.config.*;
 import com.intel.cosbench.config.common.KVConfigParser;
+import com.intel.cosbench.driver.util.ArrivalSchedule;
 import com.intel.cosbench.driver.util.OperationPicker;
 import com.intel.cosbench.log.LogManager;
 import com.intel.cosbench.model.*;
@@ -48,6 +49,7 @@ public class MissionContext implements MissionInfo {
     private ErrorStatistics errorStatistics;
     private transient OperationPicker operationPicker;
     private transient OperatorRegistry operatorRegistry;
+    private transient ArrivalSchedule arrivalSchedule;
     
     private WorkerRegistry workerRegistry;
 
@@ -117,9 +119,34 @@ public class MissionContext implements MissionInfo {
         OperatorRegistry registry = operatorRegistry;
         for (Metrics metrics : report) {
             OperatorContext op = registry.getOperator(metrics.getOpId());
-            metrics.setLatency(Histogram.convert(op.getCounter()));
+            if (!op.getSampleType().equals(metrics.getSampleType())) {
+                generateHistogram(metrics, op); // extra samples
+                continue;
+            }
+            int idx = op.getIndex();
+            LogCounter counter = op.newCounter();
+            LogCounter corrCounter = op.newCounter();
+            for (WorkerContext worker : workerRegistry) {
+                if (worker.getCounter(idx) != null)
+                    counter.add(worker.getCounter(idx));
+                if (worker.getCorrCounter(idx) != null)
+                    corrCounter.add(worker.getCorrCounter(idx));
+            }
+            metrics.setLatency(Histogram.convert(counter));
+            if (op.isCorrected())
+                metrics.setCorrLatency(Histogram.convert(corrCounter));
         }
     }
+
+    private void generateHistogram(Metrics metrics, OperatorContext op) {
+        String type = Mark.getMarkType(metrics.getOpId(), metrics.getOpType(),
+                metrics.getSampleType(), metrics.getOpName());
+        LogCounter counter = op.newCounter();
+        for (WorkerContext worker : workerRegistry)
+            if (worker.getCounter(type) != null)
+                counter.add(worker.getCounter(type));
+        metrics.setLatency(Histogram.convert(counter));
+    }
     @Override
     public StateInfo[] getStateHistory() {
         return stateHistory.getAllStates();
@@ -224,6 +251,14 @@ public class MissionContext implements MissionInfo {
         listeners.add(listener);
     }
 
+    public ArrivalSchedule getArrivalSchedule() {
+        return arrivalSchedule;
+    }
+
+    public void setArrivalSchedule(ArrivalSchedule arrivalSchedule) {
+        this.arrivalSchedule = arrivalSchedule;
+    }
+
     @Override
     public void disposeRuntime() {
     	if(MissionState.isStopped(state)) {
@@ -233,6 +268,7 @@ public class MissionContext implements MissionInfo {
 	        future = null;
 	        operationPicker = null;
 	        operatorRegistry = null;
+	        arrivalSchedule = null;
 	        listeners = null;
 	        logManager.dispose();
     	}
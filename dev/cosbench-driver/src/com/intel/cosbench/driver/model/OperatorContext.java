@@ -17,9 +17,8 @@ limitations under the License.
 
 package com.intel.cosbench.driver.model;
 
-import com.intel.cosbench.bench.*;
+import com.intel.cosbench.bench.LogCounter;
 import com.intel.cosbench.driver.operator.Operator;
-import com.intel.cosbench.log.*;
 import com.intel.cosbench.utils.MapRegistry.Item;
 
 /**
@@ -30,10 +29,12 @@ import com.intel.cosbench.utils.MapRegistry.Item;
  */
 public class OperatorContext implements Item {
 
-    private static Logger logger = LogFactory.getSystemLogger();
-
     private Operator operator;
-    private Counter counter = Counter.getResCounter();
+
+    /* layout of the response time histograms kept by workers */
+    private long unit = LogCounter.MICROSECONDS;
+    private int digits = LogCounter.DEFAULT_DIGITS;
+    private boolean corrected = false;
 
     public OperatorContext() {
         /* empty */
@@ -48,6 +49,10 @@ public class OperatorContext implements Item {
     	return operator.getId();
     }
 
+    public int getIndex() {
+        return operator.getIndex();
+    }
+
     public String getOpType() {
         return operator.getOpType();
     }
@@ -64,25 +69,33 @@ public class OperatorContext implements Item {
         this.operator = operator;
     }
 
-    public void addSample(Sample sample) {
-        if (!sample.isSucc())
-            return;
-        doAddSample(sample);
+    /**
+     * Sets the unit (in nanoseconds) and precision of response time
+     * histograms, must be called before workers start.
+     */
+    public void initCounter(long unit, int digits) {
+        this.unit = unit;
+        this.digits = digits;
+    }
+
+    /**
+     * Enables an additional histogram recording response time from the
+     * intended start of each operation.
+     */
+    public void enableCorrection() {
+        corrected = true;
     }
 
-    private void doAddSample(Sample sample) {
-        long time = sample.getTime();
-        long start = System.nanoTime();
-        counter.doAdd(time); // atomic addition (CPU intensive)
-        long end = System.nanoTime();
-        double dura = end - start;
-        if (dura >= 500000) // if greater than 0.5 milliseconds
-            logger.warn("heavy atomic op overhead detected: {}ms",
-                    dura / 1000000); // from nanosecond to millisecond
+    public boolean isCorrected() {
+        return corrected;
     }
 
-    public Counter getCounter() {
-        return counter;
+    /**
+     * @return an empty response time histogram, each worker records into
+     *         its own ones so that no synchronization is needed
+     */
+    public LogCounter newCounter() {
+        return new LogCounter(unit, digits);
     }
 
 }
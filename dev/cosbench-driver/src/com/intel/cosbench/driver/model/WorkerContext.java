@@ -17,7 +17,7 @@ limitations under the License.
 
 package com.intel.cosbench.driver.model;
 
-import java.util.Random;
+import java.util.*;
 
 import org.apache.commons.lang.math.RandomUtils;
 
@@ -56,6 +56,11 @@ public class WorkerContext implements WorkerInfo {
     /* Each worker has its private required version */
     private volatile int version = 0;
     private volatile int runlen = 0;
+    /* Each worker records response time into its own histograms */
+    private transient OperatorContext[] operators; /* by operator index */
+    private transient LogCounter[] counters; /* created on first use */
+    private transient LogCounter[] corrCounters; /* created on first use */
+    private transient Map<String, LogCounter> sampleCounters; /* by mark type */
 
     
     public WorkerContext() {
@@ -178,6 +183,71 @@ public class WorkerContext implements WorkerInfo {
         return random;
     }
 
+    public void initCounters(OperatorRegistry registry) {
+        operators = new OperatorContext[registry.getSize()];
+        for (OperatorContext op : registry)
+            operators[op.getIndex()] = op;
+        counters = new LogCounter[operators.length];
+        corrCounters = new LogCounter[operators.length];
+        sampleCounters = new HashMap<String, LogCounter>();
+    }
+
+    /**
+     * Records the response time of one operation, only the work agent of
+     * this worker is supposed to call it. Histograms are only allocated for
+     * the operators this worker actually performs.
+     * 
+     * @param index
+     *            the index of the operator
+     * @param nanos
+     *            the response time in nanoseconds
+     * @param corrNanos
+     *            the response time from the intended start in nanoseconds
+     */
+    public void addLatency(int index, long nanos, long corrNanos) {
+        LogCounter counter = counters[index];
+        if (counter == null)
+            counter = counters[index] = operators[index].newCounter();
+        counter.doAddNanos(nanos);
+        if (!operators[index].isCorrected())
+            return;
+        counter = corrCounters[index];
+        if (counter == null)
+            counter = corrCounters[index] = operators[index].newCounter();
+        counter.doAddNanos(corrNanos);
+    }
+
+    /**
+     * Records the response time of one extra sample of an operator, e.g. one
+     * part of an object, only the work agent of this worker is supposed to
+     * call it.
+     * 
+     * @param index
+     *            the index of the operator
+     * @param type
+     *            the type of the mark the sample is reported to
+     * @param nanos
+     *            the response time in nanoseconds
+     */
+    public void addLatency(int index, String type, long nanos) {
+        LogCounter counter = sampleCounters.get(type);
+        if (counter == null)
+            sampleCounters.put(type, counter = operators[index].newCounter());
+        counter.doAddNanos(nanos);
+    }
+
+    public LogCounter getCounter(String type) {
+        return sampleCounters != null ? sampleCounters.get(type) : null;
+    }
+
+    public LogCounter getCounter(int index) {
+        return counters != null ? counters[index] : null;
+    }
+
+    public LogCounter getCorrCounter(int index) {
+        return corrCounters != null ? corrCounters[index] : null;
+    }
+
     public boolean isFinished() {
     	return finished;
     }
@@ -38,14 +38,15 @@ abstract class AbstractOperator implements Operator {
     protected Config config;
     protected String id;
     protected String name;
-    protected int ratio;
+    protected double ratio;
+    protected int index;
 
     @Override
     public String getName() {
         return name;
     }
 
-    protected void init(String id, int ratio, String division, Config config) {
+    protected void init(String id, double ratio, String division, Config config) {
         this.config = config;
         this.id = id;
         this.ratio = ratio;
@@ -55,7 +56,7 @@ abstract class AbstractOperator implements Operator {
     abstract public String getOpType();
     
     @Override
-    public int getRatio() {
+    public double getRatio() {
     	return ratio;
     }
     
@@ -69,6 +70,16 @@ abstract class AbstractOperator implements Operator {
     	return id;
     }
 
+    @Override
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
     @Override
     public void operate(Session session) {
         int idx = session.getIndex();
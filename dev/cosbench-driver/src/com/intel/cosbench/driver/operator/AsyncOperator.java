@@ -0,0 +1,33 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.driver.operator;
+
+/**
+ * The interface is implemented by operators which are able to issue their
+ * operation through <code>AsyncStorageAPI</code> without waiting for it. The
+ * session listener is notified from the storage I/O threads once the
+ * operation has completed, exactly as <code>operate()</code> would have done,
+ * and <code>done</code> is run afterwards, or as soon as the operation has been
+ * aborted.
+ * 
+ */
+public interface AsyncOperator extends Operator {
+
+    public void operateAsync(Session session, Runnable done);
+
+}
@@ -55,7 +55,7 @@ class Cleaner extends AbstractOperator {
     }
 
     @Override
-    protected void init(String id, int ratio, String division, Config config) {
+    protected void init(String id, double ratio, String division, Config config) {
         super.init(id, ratio, division, config);
         objScanner.init(division, config);
         deleteContainer = config.getBoolean("deleteContainer", true);
@@ -19,6 +19,7 @@ package com.intel.cosbench.driver.operator;
 
 import java.util.Date;
 
+import com.intel.cosbench.api.storage.AsyncStorageAPI;
 import com.intel.cosbench.api.storage.StorageException;
 import com.intel.cosbench.api.storage.StorageInterruptedException;
 import com.intel.cosbench.bench.*;
@@ -32,7 +33,7 @@ import com.intel.cosbench.service.AbortedException;
  * @author ywang19, qzheng7
  * 
  */
-class Deleter extends AbstractOperator {
+class Deleter extends AbstractOperator implements AsyncOperator {
 
     public static final String OP_TYPE = "delete";
 
@@ -43,7 +44,7 @@ class Deleter extends AbstractOperator {
     }
 
     @Override
-    protected void init(String id, int ratio, String division, Config config) {
+    protected void init(String id, double ratio, String division, Config config) {
     	super.init(id, ratio, division, config);
         objPicker.init(division, config);
     }
@@ -56,16 +57,40 @@ class Deleter extends AbstractOperator {
     @Override
     protected void operate(int idx, int all, Session session) {
         String[] path = objPicker.pickObjPath(session.getRandom(), idx, all);
-        Sample sample = doDelete(path[0], path[1], config, session, this);
-        session.getListener().onSampleCreated(sample);
-        Date now = sample.getTimestamp();
-        Result result = new Result(now, getId(), getOpType(), getSampleType(),
-				getName(), sample.isSucc());
-        session.getListener().onOperationCompleted(result);
+        long nanos = delete(path[0], path[1], config, session);
+        session.getListener().onOperationRecorded(getIndex(), nanos >= 0,
+                Math.max(nanos, 0L), 0L, 0L);
+    }
+
+    @Override
+    public void operateAsync(Session session, Runnable done) {
+        if (Thread.interrupted())
+            throw new AbortedException();
+        int idx = session.getIndex();
+        int all = session.getTotalWorkers();
+        String[] path = objPicker.pickObjPath(session.getRandom(), idx, all);
+        AsyncStorageAPI api = (AsyncStorageAPI) session.getApi();
+        api.deleteObjectAsync(path[0], path[1], config, new OperationCallback(
+                this, session, path[0] + "/" + path[1], done));
     }
     
     public static Sample doDelete(String conName, String objName,
             Config config, Session session, Operator op) {
+        long nanos = delete(conName, objName, config, session);
+        if (nanos < 0)
+            return new Sample(new Date(), op.getId(), op.getOpType(),
+					op.getSampleType(), op.getName(), false);
+        Sample sample = new Sample(new Date(), op.getId(), op.getOpType(), op.getSampleType(),
+				op.getName(), true, nanos / 1000000, 0L, 0L);
+        sample.setNanoTime(nanos);
+        return sample;
+    }
+
+    /**
+     * @return the response time in nanoseconds, or -1 if the operation failed
+     */
+    static long delete(String conName, String objName, Config config,
+            Session session) {
         if (Thread.interrupted())
             throw new AbortedException();
 
@@ -82,15 +107,10 @@ class Deleter extends AbstractOperator {
         } catch (Exception e) {
         	isUnauthorizedException(e, session);
         	errorStatisticsHandle(e, session, conName + "/" + objName); 
-
-            return new Sample(new Date(), op.getId(), op.getOpType(),
-					op.getSampleType(), op.getName(), false);
+            return -1L;
         }
 
-        long end = System.nanoTime();
-
-        return new Sample(new Date(), op.getId(), op.getOpType(), op.getSampleType(),
-				op.getName(), true, (end - start) / 1000000, 0L, 0L);
+        return System.nanoTime() - start;
     }
 
 }
@@ -31,6 +31,8 @@ import com.intel.cosbench.bench.Result;
 import com.intel.cosbench.bench.Sample;
 import com.intel.cosbench.config.Config;
 import com.intel.cosbench.driver.generator.XferCountingInputStream;
+import com.intel.cosbench.driver.util.ChecksumInputStream;
+import com.intel.cosbench.driver.util.Checksums;
 import com.intel.cosbench.driver.util.ContainerPicker;
 import com.intel.cosbench.driver.util.FilePicker;
 import com.intel.cosbench.driver.util.HashUtil;
@@ -54,13 +56,14 @@ class FileWriter extends AbstractOperator {
 
     private File[] listOfFiles;
     private boolean hashCheck = false;
+    private String checksum; /* null unless a binary checksum is used */
 
     public FileWriter() {
         /* empty */
     }
 
     @Override
-    protected void init(String id, int ratio, String division, Config config) {
+    protected void init(String id, double ratio, String division, Config config) {
         super.init(id, ratio, division, config);
         contPicker.init(division, config);
         String filepath = config.get("files");
@@ -73,6 +76,8 @@ class FileWriter extends AbstractOperator {
         String range = "(1," + listOfFiles.length + ")";
         filePicker.init(range, config);
         hashCheck = config.getBoolean("hashCheck", false);
+        checksum = Checksums.getChecksum(
+                config.get("checksum", Checksums.MD5), hashCheck);
     }
 
     @Override
@@ -99,7 +104,11 @@ class FileWriter extends AbstractOperator {
             filename = listOfFiles[rand].getName();
             long length = listOfFiles[rand].length();
             InputStream fis = null;
-            if (hashCheck) {
+            if (checksum != null) {
+                length += Checksums.TRAILER;
+                fis = new ChecksumInputStream(new FileInputStream(
+                        listOfFiles[rand]), checksum);
+            } else if (hashCheck) {
                 HashUtil util = new HashUtil();
                 int hashLen = util.getHashLen();
                 length += hashLen;
@@ -155,7 +164,9 @@ class FileWriter extends AbstractOperator {
 
         long end = System.nanoTime();
 
-        return new Sample(new Date(),  getId(), getOpType(), getSampleType(),
+        Sample sample = new Sample(new Date(),  getId(), getOpType(), getSampleType(),
 				getName(), true, (end - start) / 1000000, cin.getXferTime(), cin.getByteCount());
+        sample.setNanoTime(end - start);
+        return sample;
     }
 }
@@ -17,18 +17,15 @@ limitations under the License.
 
 package com.intel.cosbench.driver.operator;
 
-import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.util.Date;
 import org.apache.commons.io.IOUtils;
-import org.apache.commons.io.output.CountingOutputStream;
-import org.apache.commons.io.output.NullOutputStream;
 
 import com.intel.cosbench.api.storage.StorageInterruptedException;
 import com.intel.cosbench.bench.Result;
 import com.intel.cosbench.bench.Sample;
 import com.intel.cosbench.config.Config;
+import com.intel.cosbench.driver.util.Drainer;
 import com.intel.cosbench.driver.util.ObjectPicker;
 import com.intel.cosbench.service.AbortedException;
 
@@ -37,17 +34,17 @@ public class Lister extends AbstractOperator {
     public static final String OP_TYPE = "list";
 
     private ObjectPicker objPicker = new ObjectPicker();
-
-    private byte buffer[] = new byte[1024*1024];
+    private Drainer drainer;
 
     public Lister() {
         /* empty */
     }
 
     @Override
-    protected void init(String id, int ratio, String division, Config config) {
+    protected void init(String id, double ratio, String division, Config config) {
         super.init(id, ratio, division, config);
         objPicker.init4Lister(division, config);
+        drainer = Drainer.newDrainer(config);
     }
 
     @Override
@@ -58,8 +55,7 @@ public class Lister extends AbstractOperator {
     @Override
     protected void operate(int idx, int all, Session session) {
         String[] path = objPicker.pickTargetPath(session.getRandom(), idx, all);
-        NullOutputStream out = new NullOutputStream();
-        Sample sample = doList(out, path[0], path[1], config, session);
+        Sample sample = doList(path[0], path[1], config, session);
         session.getListener().onSampleCreated(sample);
         Date now = sample.getTimestamp();
 		Result result = new Result(now, getId(), getOpType(), getSampleType(),
@@ -67,21 +63,21 @@ public class Lister extends AbstractOperator {
         session.getListener().onOperationCompleted(result);
     }
 
-    private Sample doList(OutputStream out, String conName, String objName,
-            Config config, Session session) {
+    private Sample doList(String conName, String objName, Config config,
+            Session session) {
         if (Thread.interrupted())
             throw new AbortedException();
 
         InputStream in = null;
-        CountingOutputStream cout = new CountingOutputStream(out);
         doLogWarn(session.getLogger(), "listerrr: "+ conName + "/" + objName);//###
         long start = System.nanoTime();
         long xferTime = 0L;
+        long bytes = 0L;
         try {
             doLogDebug(session.getLogger(), "worker "+ session.getIndex() + " List target " + conName + "/" + objName);
 	        in = session.getApi().getList(conName, objName, config);
 	        long xferStart = System.nanoTime();
-	        copyLarge(in, cout);
+	        bytes = drainer.drain(in);
 	        xferTime = (System.nanoTime() - xferStart) / 1000000;
         } catch (StorageInterruptedException sie) {
             doLogErr(session.getLogger(), sie.getMessage(), sie);
@@ -93,20 +89,13 @@ public class Lister extends AbstractOperator {
             return new Sample(new Date(), getId(), getOpType(), getSampleType(), getName(), false);
         } finally {
             IOUtils.closeQuietly(in);
-            IOUtils.closeQuietly(cout);
         }
         long end = System.nanoTime();
 
-		return new Sample(new Date(), getId(), getOpType(), getSampleType(),
-				getName(), true, (end - start) / 1000000, xferTime, cout.getByteCount());
-    }
-
-    public OutputStream copyLarge(InputStream input, OutputStream output)
-            throws IOException
-    {
-            IOUtils.copyLarge(input, output);
-
-            return output;
+		Sample sample = new Sample(new Date(), getId(), getOpType(), getSampleType(),
+				getName(), true, (end - start) / 1000000, xferTime, bytes);
+        sample.setNanoTime(end - start);
+        return sample;
     }
 
 }
@@ -0,0 +1,232 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.driver.operator;
+
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.apache.commons.io.IOUtils;
+
+import com.intel.cosbench.api.storage.*;
+import com.intel.cosbench.client.http.HttpTimings;
+import com.intel.cosbench.bench.Sample;
+import com.intel.cosbench.config.*;
+import com.intel.cosbench.driver.generator.*;
+import com.intel.cosbench.driver.util.*;
+import com.intel.cosbench.service.AbortedException;
+
+/**
+ * This class represents primitive MPREAD operation, which downloads an object
+ * of "objsize" bytes as ranges of "partsize" bytes, "parallel" ranges at a
+ * time, the content is discarded (or verified with content=verifiable).
+ * 
+ * Besides the sample for the whole object, one sample of type "part" is
+ * emitted for each range, and one of type "ttfb" for the time until the first
+ * byte of any range arrives.
+ * 
+ */
+class MultipartReader extends AbstractOperator implements MultiSampleOperator,
+        ParallelOperator {
+
+    public static final String OP_TYPE = "mpread";
+    public static final String PART_TYPE = "part";
+    public static final String TTFB_TYPE = "ttfb";
+
+    private int parallel; /* ranges downloaded at the same time */
+    private VerifiableContent verifiable; /* null unless content=verifiable */
+    private ObjectPicker objPicker = new ObjectPicker();
+    private SizePicker objSizePicker = new SizePicker();
+    private SizePicker partSizePicker = new SizePicker();
+    private Drainer drainer;
+
+    public MultipartReader() {
+        /* empty */
+    }
+
+    @Override
+    protected void init(String id, double ratio, String division, Config config) {
+        super.init(id, ratio, division, config);
+        objPicker.init(division, config);
+        objSizePicker.init(config, "objsize");
+        partSizePicker.init(config, "partsize");
+        drainer = Drainer.newDrainer(config);
+        parallel = config.getInt("parallel", 4);
+        if (parallel <= 0)
+            throw new ConfigException("illegal parallel: " + parallel);
+        if (config.get("content", "random").equals("verifiable"))
+            verifiable = new VerifiableContent(config.getLong("seed", 0L));
+    }
+
+    @Override
+    public String getOpType() {
+        return OP_TYPE;
+    }
+
+    @Override
+    public String[] getExtraSampleTypes() {
+        return new String[] { PART_TYPE, TTFB_TYPE };
+    }
+
+    @Override
+    public int getParallel() {
+        return parallel;
+    }
+
+    @Override
+    protected void operate(int idx, int all, Session session) {
+        if (Thread.interrupted())
+            throw new AbortedException();
+        StorageAPI api = session.getApi();
+        if (!(api instanceof RangedStorageAPI))
+            throw new ConfigException("storage has no support for ranged reads");
+
+        Random random = session.getRandom();
+        long size = objSizePicker.pickObjSize(random);
+        long partSize = partSizePicker.pickObjSize(random);
+        if (partSize <= 0)
+            throw new ConfigException("illegal part size: " + partSize);
+        String[] path = objPicker.pickObjPath(random, idx, all);
+        List<Part> parts = new ArrayList<Part>();
+
+        long start = System.nanoTime();
+        boolean succ = download((RangedStorageAPI) api, path, size, partSize,
+                parts, session);
+        long end = System.nanoTime();
+
+        OperationListener listener = session.getListener();
+        long bytes = 0L;
+        long firstByte = end;
+        for (Part part : parts) {
+            listener.onSampleCreated(part.toSample(this, PART_TYPE));
+            bytes += part.bytes;
+            if (part.error == null && part.firstByte - firstByte < 0)
+                firstByte = part.firstByte;
+        }
+        if (!succ) {
+            listener.onOperationRecorded(getIndex(), false, 0L, 0L, 0L);
+            return;
+        }
+        Sample ttfb = new Sample(new Date(), getId(), getOpType(), TTFB_TYPE,
+                getName(), true, (firstByte - start) / 1000000, 0L, 0L);
+        ttfb.setNanoTime(firstByte - start);
+        listener.onSampleCreated(ttfb);
+        listener.onOperationRecorded(getIndex(), true, end - start, end
+                - firstByte, bytes);
+    }
+
+    private boolean download(RangedStorageAPI api, String[] path, long size,
+            long partSize, List<Part> parts, Session session) {
+        String target = path[0] + "/" + path[1];
+        int count = (int) Math.max((size + partSize - 1) / partSize, 1L);
+        long nameSeed = verifiable != null ? verifiable.getNameSeed(target) : 0L;
+        List<Future<Part>> futures = new ArrayList<Future<Part>>(count);
+        CompletionService<Part> service = new ExecutorCompletionService<Part>(
+                MultipartWriter.PART_THREADS);
+        try {
+            int next = 0;
+            while (parts.size() < count) {
+                for (; next < count && next - parts.size() < parallel; next++) {
+                    long offset = next * partSize;
+                    futures.add(service.submit(new RangeTask(api, path,
+                            next + 1, offset, Math.min(partSize, size - offset),
+                            nameSeed, session)));
+                }
+                Part part = service.take().get();
+                parts.add(part);
+                if (part.error != null)
+                    throw part.error;
+            }
+            return true;
+        } catch (InterruptedException ie) {
+            cancel(futures);
+            throw new AbortedException();
+        } catch (StorageInterruptedException sie) {
+            doLogErr(session.getLogger(), sie.getMessage(), sie);
+            cancel(futures);
+            throw new AbortedException();
+        } catch (Exception e) {
+            isUnauthorizedException(e, session);
+            errorStatisticsHandle(e, session, target);
+            cancel(futures);
+            return false;
+        }
+    }
+
+    private static void cancel(List<Future<Part>> futures) {
+        for (Future<Part> future : futures)
+            future.cancel(true);
+    }
+
+    private class RangeTask implements Callable<Part> {
+
+        private RangedStorageAPI api;
+        private String[] path;
+        private Part part;
+        private long offset;
+        private long length;
+        private long nameSeed;
+        private Session session;
+
+        RangeTask(RangedStorageAPI api, String[] path, int number, long offset,
+                long length, long nameSeed, Session session) {
+            this.api = api;
+            this.path = path;
+            this.part = new Part(number);
+            this.offset = offset;
+            this.length = length;
+            this.nameSeed = nameSeed;
+            this.session = session;
+        }
+
+        @Override
+        public Part call() {
+            InputStream in = null;
+            HttpTimings.get().reset();
+            long start = System.nanoTime();
+            try {
+                in = api.getObjectRange(path[0], path[1], offset, length,
+                        config);
+                if (verifiable == null) {
+                    part.bytes = drainer.drain(in);
+                    part.nanos = System.nanoTime() - start;
+                    part.xferNanos = drainer.getXferNanoTime();
+                    part.firstByte = drainer.getFirstByteNanos();
+                    return part;
+                }
+                XferCountingInputStream cin = new XferCountingInputStream(in);
+                if (!Reader.verifyContent(path[0], path[1], session, cin,
+                        nameSeed, offset))
+                    throw new StorageException("inconsistent data in range "
+                            + offset + "+" + length);
+                part.nanos = System.nanoTime() - start;
+                part.xferNanos = cin.getXferNanoTime();
+                part.firstByte = cin.getFirstByteNanos();
+                part.bytes = cin.getByteCount();
+            } catch (Exception e) {
+                part.error = e;
+            } finally {
+                IOUtils.closeQuietly(in);
+                part.timings = HttpTimings.get().drain();
+            }
+            return part;
+        }
+
+    }
+
+}
@@ -0,0 +1,248 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.driver.operator;
+
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.apache.commons.io.IOUtils;
+
+import com.intel.cosbench.api.storage.*;
+import com.intel.cosbench.client.http.HttpTimings;
+import com.intel.cosbench.config.*;
+import com.intel.cosbench.driver.generator.*;
+import com.intel.cosbench.driver.util.*;
+import com.intel.cosbench.service.AbortedException;
+
+/**
+ * This class represents primitive MPWRITE operation, which uploads an object
+ * in parts of "partsize" bytes, "parallel" parts at a time, and completes the
+ * upload once all parts are stored.
+ * 
+ * Besides the sample for the whole object, one sample of type "part" is
+ * emitted for each part.
+ * 
+ */
+class MultipartWriter extends AbstractOperator implements MultiSampleOperator,
+        ParallelOperator {
+
+    public static final String OP_TYPE = "mpwrite";
+    public static final String PART_TYPE = "part";
+
+    /* threads transferring parts for all workers, created on demand */
+    static final ExecutorService PART_THREADS = Executors
+            .newCachedThreadPool(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "part-transfer");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+
+    private boolean isRandom;
+    private int parallel; /* parts uploaded at the same time */
+    private ContentGenerator generator; /* null for random or zero content */
+    private ObjectPicker objPicker = new ObjectPicker();
+    private SizePicker sizePicker = new SizePicker();
+    private SizePicker partSizePicker = new SizePicker();
+
+    public MultipartWriter() {
+        /* empty */
+    }
+
+    @Override
+    protected void init(String id, double ratio, String division, Config config) {
+        super.init(id, ratio, division, config);
+        objPicker.init(division, config);
+        sizePicker.init(config);
+        partSizePicker.init(config, "partsize");
+        parallel = config.getInt("parallel", 4);
+        if (parallel <= 0)
+            throw new ConfigException("illegal parallel: " + parallel);
+        if (config.getBoolean("hashCheck", false))
+            throw new ConfigException(
+                    "hashCheck is not supported by multipart upload");
+        isRandom = !config.get("content", "random").equals("zero");
+        generator = Writer.initContent(config, false, null);
+    }
+
+    @Override
+    public String getOpType() {
+        return OP_TYPE;
+    }
+
+    @Override
+    public String[] getExtraSampleTypes() {
+        return new String[] { PART_TYPE };
+    }
+
+    @Override
+    public int getParallel() {
+        return parallel;
+    }
+
+    @Override
+    protected void operate(int idx, int all, Session session) {
+        if (Thread.interrupted())
+            throw new AbortedException();
+        StorageAPI api = session.getApi();
+        if (!(api instanceof MultipartStorageAPI))
+            throw new ConfigException("storage has no support for multipart upload");
+
+        Random random = session.getRandom();
+        long size = sizePicker.pickObjSize(random);
+        long partSize = partSizePicker.pickObjSize(random);
+        if (partSize <= 0)
+            throw new ConfigException("illegal part size: " + partSize);
+        String[] path = objPicker.pickObjPath(random, idx, all);
+        List<Part> parts = new ArrayList<Part>();
+
+        long start = System.nanoTime();
+        long xferTime = upload((MultipartStorageAPI) api, path, size, partSize,
+                random, parts, session);
+        long end = System.nanoTime();
+
+        OperationListener listener = session.getListener();
+        long bytes = 0L;
+        for (Part part : parts) {
+            listener.onSampleCreated(part.toSample(this, PART_TYPE));
+            bytes += part.bytes;
+        }
+        if (xferTime < 0)
+            listener.onOperationRecorded(getIndex(), false, 0L, 0L, 0L);
+        else
+            listener.onOperationRecorded(getIndex(), true, end - start,
+                    xferTime, bytes);
+    }
+
+    /**
+     * @return the time spent on uploading parts in nanoseconds, or -1 if the
+     *         operation failed
+     */
+    private long upload(MultipartStorageAPI api, String[] path, long size,
+            long partSize, Random random, List<Part> parts, Session session) {
+        String target = path[0] + "/" + path[1];
+        int count = (int) Math.max((size + partSize - 1) / partSize, 1L);
+        String[] tags = new String[count];
+        List<Future<Part>> futures = new ArrayList<Future<Part>>(count);
+        CompletionService<Part> service = new ExecutorCompletionService<Part>(
+                PART_THREADS);
+        String uploadId = null;
+        try {
+            uploadId = api.initMultipartUpload(path[0], path[1], config);
+            long xferStart = System.nanoTime();
+            int next = 0;
+            while (parts.size() < count) {
+                for (; next < count && next - parts.size() < parallel; next++) {
+                    long offset = next * partSize;
+                    InputStream in = newPart(offset,
+                            Math.min(partSize, size - offset), random, path);
+                    futures.add(service.submit(new PartTask(api, path, uploadId,
+                            next + 1, in, Math.min(partSize, size - offset))));
+                }
+                Part part = service.take().get();
+                parts.add(part);
+                if (part.error != null)
+                    throw part.error;
+                tags[part.number - 1] = part.tag;
+            }
+            long xferTime = System.nanoTime() - xferStart;
+            api.completeMultipartUpload(path[0], path[1], uploadId,
+                    Arrays.asList(tags), config);
+            return xferTime;
+        } catch (InterruptedException ie) {
+            cancel(futures, api, path, uploadId);
+            throw new AbortedException();
+        } catch (StorageInterruptedException sie) {
+            doLogErr(session.getLogger(), sie.getMessage(), sie);
+            cancel(futures, api, path, uploadId);
+            throw new AbortedException();
+        } catch (Exception e) {
+            isUnauthorizedException(e, session);
+            errorStatisticsHandle(e, session, target);
+            cancel(futures, api, path, uploadId);
+            return -1L;
+        }
+    }
+
+    private InputStream newPart(long offset, long length, Random random,
+            String[] path) {
+        if (generator != null)
+            return generator.newStream(offset, length, path[0] + "/" + path[1]);
+        /* parts are generated by other threads, each takes its own random */
+        return new RandomInputStream(length, new Random(random.nextLong()),
+                isRandom, false);
+    }
+
+    private void cancel(List<Future<Part>> futures, MultipartStorageAPI api,
+            String[] path, String uploadId) {
+        for (Future<Part> future : futures)
+            future.cancel(true);
+        if (uploadId == null)
+            return;
+        try {
+            api.abortMultipartUpload(path[0], path[1], uploadId, config);
+        } catch (Exception e) {
+            /* parts left behind will be reclaimed by the storage */
+        }
+    }
+
+    private class PartTask implements Callable<Part> {
+
+        private MultipartStorageAPI api;
+        private String[] path;
+        private String uploadId;
+        private Part part;
+        private InputStream in;
+        private long length;
+
+        PartTask(MultipartStorageAPI api, String[] path, String uploadId,
+                int number, InputStream in, long length) {
+            this.api = api;
+            this.path = path;
+            this.uploadId = uploadId;
+            this.part = new Part(number);
+            this.in = in;
+            this.length = length;
+        }
+
+        @Override
+        public Part call() {
+            XferCountingInputStream cin = new XferCountingInputStream(in);
+            HttpTimings.get().reset();
+            long start = System.nanoTime();
+            try {
+                part.tag = api.uploadPart(path[0], path[1], uploadId,
+                        part.number, cin, length, config);
+                part.nanos = System.nanoTime() - start;
+                part.xferNanos = cin.getXferNanoTime();
+                part.bytes = cin.getByteCount();
+            } catch (Exception e) {
+                part.error = e;
+            } finally {
+                IOUtils.closeQuietly(cin);
+                part.timings = HttpTimings.get().drain();
+            }
+            return part;
+        }
+
+    }
+
+}
@@ -0,0 +1,110 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.driver.operator;
+
+import static com.intel.cosbench.driver.operator.AbstractOperator.*;
+
+import java.util.Date;
+
+import org.apache.commons.io.IOUtils;
+
+import com.intel.cosbench.api.storage.*;
+import com.intel.cosbench.bench.*;
+import com.intel.cosbench.driver.generator.XferCountingInputStream;
+
+/**
+ * This class turns the outcome of one asynchronous storage operation into the
+ * same sample and result a blocking operator would have emitted.
+ * 
+ */
+class OperationCallback implements StorageCallback {
+
+    private Operator op;
+    private Session session;
+    private String target;
+    private Runnable done;
+    private XferCountingInputStream content; /* null unless uploading */
+
+    private long start;
+    private long queueTime;
+
+    public OperationCallback(Operator op, Session session, String target,
+            Runnable done) {
+        this.op = op;
+        this.session = session;
+        this.target = target;
+        this.done = done;
+        this.start = System.nanoTime();
+        this.queueTime = session.getQueueTime();
+    }
+
+    /**
+     * Reports the bytes actually read from the given content instead of the
+     * length passed to the Storage-API, which is unknown for chunked uploads.
+     */
+    public OperationCallback(Operator op, Session session, String target,
+            XferCountingInputStream content, Runnable done) {
+        this(op, session, target, done);
+        this.content = content;
+    }
+
+    @Override
+    public void onCompleted(long bytes) {
+        long end = System.nanoTime();
+        long xferTime = 0L;
+        if (content != null) {
+            IOUtils.closeQuietly(content);
+            bytes = content.getByteCount();
+            xferTime = content.getXferTime();
+        }
+        Sample sample = new Sample(new Date(), op.getId(), op.getOpType(),
+                op.getSampleType(), op.getName(), true, (end - start) / 1000000,
+                xferTime, bytes);
+        sample.setNanoTime(end - start);
+        emit(sample);
+    }
+
+    @Override
+    public void onFailed(Exception e) {
+        IOUtils.closeQuietly(content);
+        if (e instanceof StorageInterruptedException) {
+            doLogDebug(session.getLogger(), "operation on " + target
+                    + " has been aborted");
+            done.run(); // no sample for aborted operations
+            return;
+        }
+        isUnauthorizedException(e, session);
+        errorStatisticsHandle(e, session, target);
+        emit(new Sample(new Date(), op.getId(), op.getOpType(),
+                op.getSampleType(), op.getName(), false));
+    }
+
+    private void emit(Sample sample) {
+        sample.setQueueTime(queueTime);
+        try {
+            session.getListener().onSampleCreated(sample);
+            Result result = new Result(sample.getTimestamp(), op.getId(),
+                    op.getOpType(), op.getSampleType(), op.getName(),
+                    sample.isSucc());
+            session.getListener().onOperationCompleted(result);
+        } finally {
+            done.run();
+        }
+    }
+
+}
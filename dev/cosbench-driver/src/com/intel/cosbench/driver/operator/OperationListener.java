@@ -25,4 +25,18 @@ public interface OperationListener {
 
     public void onOperationCompleted(Result result);
 
+    /**
+     * Records one operation emitting a single sample of the operator's own
+     * sample type, without creating the sample and result objects.
+     * 
+     * @param index
+     *            the index of the operator
+     * @param nanos
+     *            the response time in nanoseconds
+     * @param xferNanos
+     *            the transfer time in nanoseconds
+     */
+    public void onOperationRecorded(int index, boolean succ, long nanos,
+            long xferNanos, long bytes);
+
 }
@@ -22,10 +22,18 @@ import com.intel.cosbench.utils.MapRegistry;
 public interface Operator extends MapRegistry.Item {
 	
 	public String getId();
+
+	/**
+	 * @return the position of this operator in its mission, used to address
+	 *         per-operator slots without a map lookup
+	 */
+	public int getIndex();
+
+	public void setIndex(int index);
 	
 	public String getName();
 	
-	public int getRatio();
+	public double getRatio();
 
     public String getOpType();
 
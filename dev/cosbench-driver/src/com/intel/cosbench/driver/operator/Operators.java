@@ -32,8 +32,14 @@ public class Operators {
     private static AbstractOperator createOperator(String type) {
         if (StringUtils.equals(type, Reader.OP_TYPE))
             return new Reader();
+        if (StringUtils.equals(type, RangeReader.OP_TYPE))
+            return new RangeReader();
+        if (StringUtils.equals(type, MultipartReader.OP_TYPE))
+            return new MultipartReader();
         if (StringUtils.equals(type, Writer.OP_TYPE))
             return new Writer();
+        if (StringUtils.equals(type, MultipartWriter.OP_TYPE))
+            return new MultipartWriter();
         if (StringUtils.equals(type, Lister.OP_TYPE))
             return new Lister();
         if (StringUtils.equals(type, FileWriter.OP_TYPE))
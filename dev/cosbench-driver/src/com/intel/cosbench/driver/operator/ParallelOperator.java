@@ -0,0 +1,33 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.driver.operator;
+
+/**
+ * The interface is implemented by operators which issue several requests at a
+ * time through the storage instance of one worker, e.g. to upload the parts of
+ * an object in parallel. This is only safe for thread-safe storage adaptors.
+ * 
+ */
+public interface ParallelOperator extends Operator {
+
+    /**
+     * @return the number of requests issued at a time
+     */
+    public int getParallel();
+
+}
@@ -0,0 +1,61 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.driver.operator;
+
+import java.util.Date;
+
+import com.intel.cosbench.bench.Sample;
+import com.intel.cosbench.client.http.HttpTimings;
+
+/**
+ * This class holds the outcome of transferring one part of an object, it is
+ * filled by a transfer thread and read by the worker once the part is done.
+ * 
+ */
+class Part {
+
+    final int number; /* starting from 1 */
+    String tag;
+    long nanos; /* response time */
+    long xferNanos; /* transfer time */
+    long firstByte; /* when the first read returned, from System.nanoTime */
+    long bytes;
+    HttpTimings timings; /* HTTP request phases, null if not collected */
+    Exception error; /* null if transferred */
+
+    Part(int number) {
+        this.number = number;
+    }
+
+    Sample toSample(Operator op, String sampleType) {
+        Sample sample = new Sample(new Date(), op.getId(), op.getOpType(),
+                sampleType, op.getName(), error == null, nanos / 1000000,
+                xferNanos / 1000000, bytes);
+        sample.setNanoTime(nanos);
+        sample.setQueueTime(0L); // parts are never scheduled
+        sample.setPoolWait(timings != null ? timings.getPoolWait() : 0L);
+        if (timings != null) {
+            sample.setDnsTime(timings.getDnsTime());
+            sample.setConnTime(timings.getConnTime());
+            sample.setTlsTime(timings.getTlsTime());
+            sample.setTtfbTime(timings.getTtfbTime());
+        }
+        return sample;
+    }
+
+}
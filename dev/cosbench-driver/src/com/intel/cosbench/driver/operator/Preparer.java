@@ -19,6 +19,7 @@ package com.intel.cosbench.driver.operator;
 
 import static com.intel.cosbench.driver.operator.Writer.doWrite;
 
+import java.io.InputStream;
 import java.util.*;
 
 import org.apache.commons.lang.StringUtils;
@@ -29,7 +30,7 @@ import com.intel.cosbench.api.storage.StorageInterruptedException;
 import com.intel.cosbench.bench.*;
 import com.intel.cosbench.config.Config;
 import com.intel.cosbench.driver.agent.AgentException;
-import com.intel.cosbench.driver.generator.RandomInputStream;
+import com.intel.cosbench.driver.generator.ContentGenerator;
 import com.intel.cosbench.driver.util.*;
 import com.intel.cosbench.service.AbortedException;
 
@@ -48,6 +49,8 @@ class Preparer extends AbstractOperator {
     private boolean isRandom;
     private boolean createContainer;
     private boolean hashCheck = false;
+    private String checksum; /* null unless a binary checksum is used */
+    private ContentGenerator generator; /* null for random or zero content */
     private ObjectScanner objScanner = new ObjectScanner();
     private SizePicker sizePicker = new SizePicker();
 
@@ -56,7 +59,7 @@ class Preparer extends AbstractOperator {
     }
 
     @Override
-    protected void init(String id, int ratio, String division, Config config) {
+    protected void init(String id, double ratio, String division, Config config) {
     	super.init(id, ratio, division, config);
         objScanner.init(division, config);
         sizePicker.init(config);
@@ -64,6 +67,9 @@ class Preparer extends AbstractOperator {
         isRandom = !config.get("content", "random").equals("zero");
         createContainer = config.getBoolean("createContainer", true);
         hashCheck = config.getBoolean("hashCheck", false);
+        checksum = Checksums.getChecksum(
+                config.get("checksum", Checksums.MD5), hashCheck);
+        generator = Writer.initContent(config, hashCheck, checksum);
     }
 
     @Override
@@ -92,8 +98,8 @@ class Preparer extends AbstractOperator {
             Random random = session.getRandom();
             long size = sizePicker.pickObjSize(random);
             long len = chunked ? -1 : size;
-            RandomInputStream in = new RandomInputStream(size, random,
-                    isRandom, hashCheck);
+            InputStream in = Writer.newContent(size, random, isRandom,
+                    hashCheck, checksum, generator, path);
             Sample sample = doWrite(in, len, path[0], path[1], config, session, this);
             sample.setOpType(opTye);
             session.getListener().onSampleCreated(sample);
@@ -0,0 +1,244 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.driver.operator;
+
+import java.io.InputStream;
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.*;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.CountingInputStream;
+
+import com.intel.cosbench.api.storage.*;
+import com.intel.cosbench.bench.Sample;
+import com.intel.cosbench.client.http.HttpTimings;
+import com.intel.cosbench.config.*;
+import com.intel.cosbench.driver.generator.*;
+import com.intel.cosbench.driver.util.*;
+import com.intel.cosbench.service.AbortedException;
+
+/**
+ * This class represents primitive RANGEREAD operation, which downloads part of
+ * an object, e.g. "objsize=c(1)GB;range=u(4,64)KB;offset=zipf".
+ * 
+ * Offsets are either random ("uniform" or "zipf(theta)", aligned to "align"
+ * bytes), or "sequential", where each worker scans one object from head to
+ * tail by "stride" bytes (the range length by default) before moving to the
+ * next one.
+ * 
+ * When range lengths vary over more than one power of two, one more sample is
+ * emitted for each range into the power-of-two class of its length, e.g.
+ * "read-4KiB" for lengths from 4096 to 8191 bytes, so that latency is also
+ * reported per range-size class. Lengths beyond the last of "classes" classes
+ * (16 by default) are reported with the last one.
+ * 
+ */
+class RangeReader extends AbstractOperator implements MultiSampleOperator {
+
+    public static final String OP_TYPE = "rangeread";
+
+    private static final String SEQUENTIAL = "sequential";
+
+    private static final String[] UNITS = { "B", "KiB", "MiB", "GiB", "TiB",
+            "PiB", "EiB" };
+
+    private ObjectPicker objPicker = new ObjectPicker();
+    private SizePicker objSizePicker = new SizePicker();
+    private SizePicker rangePicker = new SizePicker();
+    private Drainer drainer;
+    private OffsetGenerator offsets; /* null if sequential */
+    private long stride; /* 0 to step by the range length */
+    private VerifiableContent verifiable; /* null unless content=verifiable */
+    private String[] classes; /* sample types of range-size classes */
+    private int lowClass; /* log2 of the lowest class */
+
+    /* sequential scans in progress, one for each worker */
+    private ConcurrentMap<Integer, Cursor> cursors = new ConcurrentHashMap<Integer, Cursor>();
+
+    public RangeReader() {
+        /* empty */
+    }
+
+    @Override
+    protected void init(String id, double ratio, String division, Config config) {
+        super.init(id, ratio, division, config);
+        objPicker.init(division, config);
+        drainer = Drainer.newDrainer(config);
+        objSizePicker.init(config, "objsize");
+        rangePicker.init(config, "range");
+        String offset = config.get("offset", "uniform");
+        if (!offset.equals(SEQUENTIAL))
+            offsets = Generators.getOffsetGenerator(offset,
+                    config.getLong("align", 1L));
+        stride = config.getLong("stride", 0L);
+        if (config.get("content", "random").equals("verifiable"))
+            verifiable = new VerifiableContent(config.getLong("seed", 0L));
+        initClasses(config.getInt("classes", 16));
+    }
+
+    private void initClasses(int limit) {
+        if (limit <= 0)
+            throw new ConfigException("illegal classes: " + limit);
+        lowClass = log2(rangePicker.getMinSize());
+        int high = Math.min(log2(rangePicker.getMaxSize()), lowClass + limit
+                - 1);
+        classes = new String[high > lowClass ? high - lowClass + 1 : 0];
+        for (int i = 0; i < classes.length; i++) {
+            int log = lowClass + i;
+            classes[i] = getSampleType() + "-" + (1L << log % 10)
+                    + UNITS[log / 10];
+        }
+    }
+
+    private static int log2(long length) {
+        return 63 - Long.numberOfLeadingZeros(Math.max(length, 1L));
+    }
+
+    @Override
+    public String[] getExtraSampleTypes() {
+        return classes;
+    }
+
+    @Override
+    public String getOpType() {
+        return OP_TYPE;
+    }
+
+    @Override
+    public String getSampleType() {
+        return Reader.OP_TYPE;
+    }
+
+    @Override
+    protected void operate(int idx, int all, Session session) {
+        Random random = session.getRandom();
+        long length = rangePicker.pickObjSize(random);
+        if (offsets != null) {
+            String[] path = objPicker.pickObjPath(random, idx, all);
+            long size = objSizePicker.pickObjSize(random);
+            doRead(path[0], path[1], offsets.next(random, size, length),
+                    length, session);
+            return;
+        }
+        Cursor cursor = cursors.get(idx);
+        if (cursor == null || cursor.next >= cursor.size) {
+            cursor = new Cursor(objPicker.pickObjPath(random, idx, all),
+                    objSizePicker.pickObjSize(random));
+            cursors.put(idx, cursor);
+        }
+        long offset = cursor.next;
+        cursor.next += stride > 0 ? stride : length;
+        doRead(cursor.path[0], cursor.path[1], offset, length, session);
+    }
+
+    private void doRead(String conName, String objName, long offset,
+            long length, Session session) {
+        if (Thread.interrupted())
+            throw new AbortedException();
+        StorageAPI api = session.getApi();
+        if (!(api instanceof RangedStorageAPI))
+            throw new ConfigException("storage has no support for ranged reads");
+
+        InputStream in = null;
+        OperationListener listener = session.getListener();
+        String sampleType = getSizeClass(length);
+
+        long start = System.nanoTime();
+        long xferTime = 0L;
+        long bytes = 0L;
+        try {
+            in = ((RangedStorageAPI) api).getObjectRange(conName, objName,
+                    offset, length, config);
+            long xferStart = System.nanoTime();
+            if (verifiable != null) {
+                CountingInputStream cin = new CountingInputStream(in);
+                boolean valid = Reader.verifyContent(conName, objName, session,
+                        cin, verifiable.getNameSeed(conName + "/" + objName),
+                        offset);
+                bytes = cin.getByteCount();
+                if (!valid) {
+                    onRangeRead(listener, sampleType, false, 0L, 0L, 0L);
+                    return;
+                }
+            } else {
+                bytes = drainer.drain(in);
+            }
+            xferTime = System.nanoTime() - xferStart;
+        } catch (StorageInterruptedException sie) {
+            doLogErr(session.getLogger(), sie.getMessage(), sie);
+            throw new AbortedException();
+        } catch (Exception e) {
+            isUnauthorizedException(e, session);
+            errorStatisticsHandle(e, session, conName + "/" + objName + "@"
+                    + offset);
+
+            onRangeRead(listener, sampleType, false, 0L, 0L, 0L);
+            return;
+        } finally {
+            IOUtils.closeQuietly(in);
+        }
+        long end = System.nanoTime();
+
+        onRangeRead(listener, sampleType, true, end - start, xferTime, bytes);
+    }
+
+    /**
+     * @return the sample type of the class of the given range length, or null
+     *         if ranges are not classified
+     */
+    private String getSizeClass(long length) {
+        if (classes.length == 0)
+            return null;
+        int idx = log2(length) - lowClass;
+        return classes[Math.max(0, Math.min(idx, classes.length - 1))];
+    }
+
+    private void onRangeRead(OperationListener listener, String sampleType,
+            boolean succ, long nanos, long xferNanos, long bytes) {
+        if (sampleType != null) {
+            Sample sample = new Sample(new Date(), getId(), getOpType(),
+                    sampleType, getName(), succ, nanos / 1000000,
+                    xferNanos / 1000000, bytes);
+            sample.setNanoTime(nanos);
+            HttpTimings timings = HttpTimings.get(); // kept for the operation
+            sample.setPoolWait(timings.getPoolWait());
+            sample.setDnsTime(timings.getDnsTime());
+            sample.setConnTime(timings.getConnTime());
+            sample.setTlsTime(timings.getTlsTime());
+            sample.setTtfbTime(timings.getTtfbTime());
+            listener.onSampleCreated(sample);
+        }
+        listener.onOperationRecorded(getIndex(), succ, nanos, xferNanos,
+                bytes);
+    }
+
+    private static class Cursor {
+
+        private final String[] path;
+        private final long size;
+        private long next; /* offset of the next range */
+
+        Cursor(String[] path, long size) {
+            this.path = path;
+            this.size = size;
+        }
+
+    }
+
+}
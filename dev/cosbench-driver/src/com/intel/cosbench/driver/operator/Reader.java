@@ -19,14 +19,15 @@ package com.intel.cosbench.driver.operator;
 
 import java.io.*;
 import java.security.NoSuchAlgorithmException;
-import java.util.Date;
+import java.util.zip.Checksum;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.CountingInputStream;
 import org.apache.commons.io.output.*;
 
-import com.intel.cosbench.api.storage.StorageInterruptedException;
-import com.intel.cosbench.bench.*;
-import com.intel.cosbench.config.Config;
+import com.intel.cosbench.api.storage.*;
+import com.intel.cosbench.config.*;
+import com.intel.cosbench.driver.generator.VerifiableContent;
 import com.intel.cosbench.driver.util.*;
 import com.intel.cosbench.service.AbortedException;
 
@@ -36,25 +37,43 @@ import com.intel.cosbench.service.AbortedException;
  * @author ywang19, qzheng7
  *
  */
-class Reader extends AbstractOperator {
+class Reader extends AbstractOperator implements AsyncOperator {
 
     public static final String OP_TYPE = "read";
 
     private boolean hashCheck = false;
+    private String checksum; /* null unless a binary checksum is used */
+    private VerifiableContent verifiable; /* null unless content=verifiable */
+
+    /* per-worker buffer for streaming verification */
+    private static final ThreadLocal<byte[]> BUFFERS = new ThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() {
+            return new byte[256 * 1024 + Checksums.TRAILER];
+        }
+    };
 
     private ObjectPicker objPicker = new ObjectPicker();
-
-    private byte buffer[] = new byte[1024*1024];
+    private Drainer drainer;
 
     public Reader() {
         /* empty */
     }
 
     @Override
-    protected void init(String id, int ratio, String division, Config config) {
+    protected void init(String id, double ratio, String division, Config config) {
         super.init(id, ratio, division, config);
         objPicker.init(division, config);
+        drainer = Drainer.newDrainer(config);
         hashCheck = config.getBoolean("hashCheck", false);
+        checksum = Checksums.getChecksum(
+                config.get("checksum", Checksums.MD5), hashCheck);
+        if (config.get("content", "random").equals("verifiable")) {
+            if (hashCheck)
+                throw new ConfigException(
+                        "hashCheck is not needed with verifiable content");
+            verifiable = new VerifiableContent(config.getLong("seed", 0L));
+        }
     }
 
     @Override
@@ -65,36 +84,73 @@ class Reader extends AbstractOperator {
     @Override
     protected void operate(int idx, int all, Session session) {
         String[] path = objPicker.pickObjPath(session.getRandom(), idx, all);
-        NullOutputStream out = new NullOutputStream();
-        Sample sample = doRead(out, path[0], path[1], config, session);
-        session.getListener().onSampleCreated(sample);
-        Date now = sample.getTimestamp();
-		Result result = new Result(now, getId(), getOpType(), getSampleType(),
-				getName(), sample.isSucc());
-        session.getListener().onOperationCompleted(result);
+        doRead(path[0], path[1], config, session);
     }
 
-    private Sample doRead(OutputStream out, String conName, String objName,
-            Config config, Session session) {
+    @Override
+    public void operateAsync(Session session, Runnable done) {
+        if (Thread.interrupted())
+            throw new AbortedException();
+        int idx = session.getIndex();
+        int all = session.getTotalWorkers();
+        if (hashCheck || verifiable != null) {
+            /* content must be inspected here, read it in a blocking way */
+            operate(idx, all, session);
+            done.run();
+            return;
+        }
+        String[] path = objPicker.pickObjPath(session.getRandom(), idx, all);
+        AsyncStorageAPI api = (AsyncStorageAPI) session.getApi();
+        api.getObjectAsync(path[0], path[1], config, new OperationCallback(
+                this, session, path[0] + "/" + path[1], done));
+    }
+
+    private void doRead(String conName, String objName, Config config,
+            Session session) {
         if (Thread.interrupted())
             throw new AbortedException();
 
         InputStream in = null;
-        CountingOutputStream cout = new CountingOutputStream(out);
+        OperationListener listener = session.getListener();
 
         long start = System.nanoTime();
         long xferTime = 0L;
+        long bytes = 0L;
         try {
             in = session.getApi().getObject(conName, objName, config);
             long xferStart = System.nanoTime();
-            if (!hashCheck) {
-                copyLarge(in, cout);
-            } else if (!validateChecksum(conName, objName, session, in, cout)) {
-				return new Sample(new Date(), getId(), getOpType(),
-						getSampleType(), getName(), false);
+            if (verifiable != null) {
+                CountingInputStream cin = new CountingInputStream(in);
+                boolean valid = verifyContent(conName, objName, session, cin,
+                        verifiable.getNameSeed(conName + "/" + objName), 0L);
+                bytes = cin.getByteCount();
+                if (!valid) {
+                    listener.onOperationRecorded(getIndex(), false, 0L, 0L, 0L);
+                    return;
+                }
+            } else if (!hashCheck) {
+                bytes = drainer.drain(in);
+            } else if (checksum != null) {
+                CountingInputStream cin = new CountingInputStream(in);
+                boolean valid = verifyTrailer(conName, objName, session, cin,
+                        checksum);
+                bytes = cin.getByteCount();
+                if (!valid) {
+                    listener.onOperationRecorded(getIndex(), false, 0L, 0L, 0L);
+                    return;
+                }
+            } else {
+                CountingOutputStream cout = new CountingOutputStream(
+                        NullOutputStream.NULL_OUTPUT_STREAM);
+                boolean valid = validateChecksum(conName, objName, session,
+                        in, cout);
+                bytes = cout.getByteCount();
+                if (!valid) {
+                    listener.onOperationRecorded(getIndex(), false, 0L, 0L, 0L);
+                    return;
+                }
             }
-            long xferEnd = System.nanoTime();
-            xferTime = (xferEnd - xferStart) / 1000000;
+            xferTime = System.nanoTime() - xferStart;
         } catch (StorageInterruptedException sie) {
             doLogErr(session.getLogger(), sie.getMessage(), sie);
             throw new AbortedException();
@@ -102,24 +158,80 @@ class Reader extends AbstractOperator {
         	isUnauthorizedException(e, session);
         	errorStatisticsHandle(e, session, conName + "/" + objName);
 
-            return new Sample(new Date(), getId(), getOpType(), getSampleType(), getName(), false);
+            listener.onOperationRecorded(getIndex(), false, 0L, 0L, 0L);
+            return;
         } finally {
             IOUtils.closeQuietly(in);
-            IOUtils.closeQuietly(cout);
         }
         long end = System.nanoTime();
 
-		return new Sample(new Date(), getId(), getOpType(), getSampleType(),
-				getName(), true, (end - start)/1000000,
-				xferTime, cout.getByteCount());
+        listener.onOperationRecorded(getIndex(), true, end - start, xferTime,
+                bytes);
     }
 
-    public OutputStream copyLarge(InputStream input, OutputStream output)
-            throws IOException
-    {
-            IOUtils.copyLarge(input, output);
+    /**
+     * Compares the object, read from the given position on, with the content
+     * expected at each offset.
+     */
+    static boolean verifyContent(String conName, String objName,
+            Session session, InputStream in, long nameSeed, long position)
+            throws IOException {
+        byte[] buf = BUFFERS.get();
+        int n;
+        while ((n = in.read(buf)) >= 0) {
+            long bad = VerifiableContent.verify(nameSeed, position, buf, 0, n);
+            if (bad >= 0) {
+                String err = "Inconsistent data for " + conName + "\\"
+                        + objName + " at offset " + bad;
+                doLogErr(session.getLogger(), err);
+                return false;
+            }
+            position += n;
+        }
+        return true; /* content - okay */
+    }
 
-            return output;
+    /**
+     * Streams the object through a large buffer, holding back the last bytes
+     * which are expected to be the binary trailer.
+     */
+    private static boolean verifyTrailer(String conName, String objName,
+            Session session, InputStream in, String algo) throws IOException {
+        Checksum sum = Checksums.newChecksum(algo);
+        byte[] buf = BUFFERS.get();
+        int held = 0; /* bytes at the head of buffer not checksummed yet */
+        int n;
+        while ((n = in.read(buf, held, buf.length - held)) >= 0) {
+            held += n;
+            if (held > Checksums.TRAILER) {
+                int data = held - Checksums.TRAILER;
+                sum.update(buf, 0, data);
+                System.arraycopy(buf, data, buf, 0, Checksums.TRAILER);
+                held = Checksums.TRAILER;
+            }
+        }
+        if (held < Checksums.TRAILER || Checksums.readId(buf, 0) < 0) {
+            String warn = "No checksum embedded in " + conName + "\\" + objName;
+            doLogWarn(session.getLogger(), warn);
+            return true;
+        }
+        int id = Checksums.readId(buf, 0);
+        if (id != Checksums.getId(algo)) {
+            String err = "Unexpected checksum type for " + conName + "\\"
+                    + objName + ": stored=" + id + ", algorithm=" + algo;
+            doLogErr(session.getLogger(), err);
+            return false;
+        }
+        long stored = Checksums.readValue(buf, 0);
+        long calculated = sum.getValue();
+        if (stored != calculated) {
+            String err = "Inconsistent Hashes for " + conName + "\\" + objName
+                    + ": calculated=" + Long.toHexString(calculated)
+                    + ", stored=" + Long.toHexString(stored);
+            doLogErr(session.getLogger(), err);
+            return false;
+        }
+        return true; /* checksum - okay */
     }
 
     private static boolean validateChecksum(String conName, String objName,
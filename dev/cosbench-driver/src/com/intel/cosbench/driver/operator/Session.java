@@ -38,6 +38,12 @@ public interface Session {
     public OperationListener getListener();
     
     public ErrorStatistics getErrorStatistics();
+
+    /**
+     * @return how long (in ns) the operation being issued has been queued
+     *         behind its scheduled start
+     */
+    public long getQueueTime();
 	
 
 }
@@ -23,12 +23,22 @@ import java.util.Random;
 
 import org.apache.commons.io.IOUtils;
 
+import com.intel.cosbench.api.storage.AsyncStorageAPI;
+import com.intel.cosbench.api.storage.Payload;
+import com.intel.cosbench.api.storage.PayloadStorageAPI;
 import com.intel.cosbench.api.storage.StorageInterruptedException;
-import com.intel.cosbench.bench.Result;
 import com.intel.cosbench.bench.Sample;
 import com.intel.cosbench.config.Config;
+import com.intel.cosbench.config.ConfigException;
+import com.intel.cosbench.driver.generator.ContentGenerator;
+import com.intel.cosbench.driver.generator.PayloadPool;
+import com.intel.cosbench.driver.generator.PoolInputStream;
 import com.intel.cosbench.driver.generator.RandomInputStream;
+import com.intel.cosbench.driver.generator.SyntheticContent;
+import com.intel.cosbench.driver.generator.VerifiableContent;
 import com.intel.cosbench.driver.generator.XferCountingInputStream;
+import com.intel.cosbench.driver.util.ChecksumInputStream;
+import com.intel.cosbench.driver.util.Checksums;
 import com.intel.cosbench.driver.util.ObjectPicker;
 import com.intel.cosbench.driver.util.SizePicker;
 import com.intel.cosbench.service.AbortedException;
@@ -39,13 +49,19 @@ import com.intel.cosbench.service.AbortedException;
  * @author ywang19, qzheng7
  * 
  */
-class Writer extends AbstractOperator {
+class Writer extends AbstractOperator implements AsyncOperator {
 
     public static final String OP_TYPE = "write";
 
     private boolean chunked;
     private boolean isRandom;
     private boolean hashCheck = false;
+    private String checksum; /* null unless a binary checksum is used */
+    private ContentGenerator generator; /* null for random or zero content */
+    private boolean plain; /* content taken from the payload pool as is */
+    /* per-worker streams reused by the uploads of plain content */
+    private ThreadLocal<PoolInputStream> contents;
+    private ThreadLocal<XferCountingInputStream> streams;
     private ObjectPicker objPicker = new ObjectPicker();
     private SizePicker sizePicker = new SizePicker();
 
@@ -54,13 +70,62 @@ class Writer extends AbstractOperator {
     }
 
     @Override
-    protected void init(String id, int ratio, String division, Config config) {
+    protected void init(String id, double ratio, String division, Config config) {
         super.init(id, ratio, division, config);
         objPicker.init(division, config);
         sizePicker.init(config);
         chunked = config.getBoolean("chunked", false);
         isRandom = !config.get("content", "random").equals("zero");
         hashCheck = config.getBoolean("hashCheck", false);
+        checksum = Checksums.getChecksum(
+                config.get("checksum", Checksums.MD5), hashCheck);
+        generator = initContent(config, hashCheck, checksum);
+        plain = generator == null && !hashCheck;
+        contents = new ThreadLocal<PoolInputStream>() {
+            @Override
+            protected PoolInputStream initialValue() {
+                return new PoolInputStream(isRandom);
+            }
+        };
+        streams = new ThreadLocal<XferCountingInputStream>() {
+            @Override
+            protected XferCountingInputStream initialValue() {
+                return new XferCountingInputStream(null);
+            }
+        };
+    }
+
+    static ContentGenerator initContent(Config config, boolean hashCheck,
+            String checksum) {
+        String content = config.get("content", "random");
+        if (content.equals("synthetic")) {
+            if (hashCheck && checksum == null)
+                throw new ConfigException(
+                        "md5 hashCheck is not supported with synthetic content");
+            return SyntheticContent.parse(config.get("compress", "1"),
+                    config.get("dedupe", "0%"));
+        }
+        if (content.equals("verifiable")) {
+            if (hashCheck)
+                throw new ConfigException(
+                        "hashCheck is not needed with verifiable content");
+            return new VerifiableContent(config.getLong("seed", 0L));
+        }
+        return null;
+    }
+
+    static InputStream newContent(long size, Random random, boolean isRandom,
+            boolean hashCheck, String checksum, ContentGenerator generator,
+            String[] path) {
+        if (checksum != null && size > Checksums.TRAILER) {
+            InputStream in = newContent(size - Checksums.TRAILER, random,
+                    isRandom, false, null, generator, path);
+            return new ChecksumInputStream(in, checksum);
+        }
+        if (generator != null)
+            return generator.newStream(size, path[0] + "/" + path[1]);
+        return new RandomInputStream(size, random, isRandom, hashCheck
+                && checksum == null);
     }
 
     @Override
@@ -74,23 +139,77 @@ class Writer extends AbstractOperator {
         long size = sizePicker.pickObjSize(random);
         long len = chunked ? -1 : size;
         String[] path = objPicker.pickObjPath(random, idx, all);
-        RandomInputStream in = new RandomInputStream(size, random, isRandom,
-                hashCheck);
-		Sample sample = doWrite(in, len, path[0], path[1], config, session,
-				this);
-        session.getListener().onSampleCreated(sample);
-        Date now = sample.getTimestamp();
-		Result result = new Result(now, getId(), getOpType(), getSampleType(),
-				getName(), sample.isSucc());
-        session.getListener().onOperationCompleted(result);
+        if (plain && !chunked && session.getApi() instanceof PayloadStorageAPI) {
+            Payload payload = PayloadPool.getPool(isRandom).payload(
+                    isRandom ? random.nextInt(PayloadPool.SIZE) : 0, size);
+            long nanos = write(payload, path[0], path[1], config, session);
+            if (nanos < 0)
+                session.getListener().onOperationRecorded(getIndex(), false,
+                        0L, 0L, 0L);
+            else
+                session.getListener().onOperationRecorded(getIndex(), true,
+                        nanos, payload.getXferNanoTime(), size);
+            return;
+        }
+        XferCountingInputStream cin;
+        if (plain) {
+            PoolInputStream in = contents.get().init(
+                    isRandom ? random.nextInt(PayloadPool.SIZE) : 0, size);
+            cin = streams.get().init(in);
+        } else {
+            cin = new XferCountingInputStream(newContent(size, random,
+                    isRandom, hashCheck, checksum, generator, path));
+        }
+        long nanos = write(cin, len, path[0], path[1], config, session);
+        if (nanos < 0)
+            session.getListener().onOperationRecorded(getIndex(), false, 0L,
+                    0L, 0L);
+        else
+            session.getListener().onOperationRecorded(getIndex(), true, nanos,
+                    cin.getXferNanoTime(), cin.getByteCount());
+    }
+
+    @Override
+    public void operateAsync(Session session, Runnable done) {
+        if (Thread.interrupted())
+            throw new AbortedException();
+        int idx = session.getIndex();
+        int all = session.getTotalWorkers();
+        Random random = session.getRandom();
+        long size = sizePicker.pickObjSize(random);
+        long len = chunked ? -1 : size;
+        String[] path = objPicker.pickObjPath(random, idx, all);
+        InputStream in = newContent(size, random, isRandom, hashCheck,
+                checksum, generator, path);
+        XferCountingInputStream cin = new XferCountingInputStream(in);
+        AsyncStorageAPI api = (AsyncStorageAPI) session.getApi();
+        api.createObjectAsync(path[0], path[1], cin, len, config,
+                new OperationCallback(this, session, path[0] + "/" + path[1],
+                        cin, done));
     }
     
     public static  Sample doWrite(InputStream in, long length, String conName,
             String objName, Config config, Session session, Operator op) {
+        XferCountingInputStream cin = new XferCountingInputStream(in);	
+        long nanos = write(cin, length, conName, objName, config, session);
+        if (nanos < 0)
+			return new Sample(new Date(), op.getId(), op.getOpType(),
+					op.getSampleType(), op.getName(), false);
+		Sample sample = new Sample(new Date(), op.getId(), op.getOpType(), op.getSampleType(),
+				op.getName(), true, nanos / 1000000,
+				cin.getXferTime(), cin.getByteCount());
+        sample.setNanoTime(nanos);
+        return sample;
+    }
+
+    /**
+     * @return the response time in nanoseconds, or -1 if the operation failed
+     */
+    static long write(XferCountingInputStream cin, long length,
+            String conName, String objName, Config config, Session session) {
         if (Thread.interrupted())
             throw new AbortedException();
-        
-        XferCountingInputStream cin = new XferCountingInputStream(in);	
+
         long start = System.nanoTime();
 
         try {
@@ -102,18 +221,40 @@ class Writer extends AbstractOperator {
         } catch (Exception e) {
         	isUnauthorizedException(e, session);
         	errorStatisticsHandle(e, session, conName + "/" + objName);
-        	
-			return new Sample(new Date(), op.getId(), op.getOpType(),
-					op.getSampleType(), op.getName(), false);
-			
+            return -1L;
         } finally {
             IOUtils.closeQuietly(cin);
         }
 
-        long end = System.nanoTime();
-		return new Sample(new Date(), op.getId(), op.getOpType(), op.getSampleType(),
-				op.getName(), true, (end - start) / 1000000,
-				cin.getXferTime(), cin.getByteCount());
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Uploads the content straight from the payload pool, the transfer time
+     * is recorded by the payload itself.
+     * 
+     * @return the response time in nanoseconds, or -1 if the operation failed
+     */
+    static long write(Payload payload, String conName, String objName,
+            Config config, Session session) {
+        if (Thread.interrupted())
+            throw new AbortedException();
+
+        long start = System.nanoTime();
+
+        try {
+            ((PayloadStorageAPI) session.getApi()).createObject(conName,
+                    objName, payload, config);
+        } catch (StorageInterruptedException sie) {
+            doLogErr(session.getLogger(), sie.getMessage(), sie);
+            throw new AbortedException();
+        } catch (Exception e) {
+            isUnauthorizedException(e, session);
+            errorStatisticsHandle(e, session, conName + "/" + objName);
+            return -1L;
+        }
+
+        return System.nanoTime() - start;
     }
     /*
      * public static Sample doWrite(byte[] data, String conName, String objName,
@@ -55,6 +55,14 @@ public class COSBStorageAPIService implements StorageAPIService {
         return storage;
     }
 
+    @Override
+    public boolean isThreadSafe(String type) {
+        for (StorageAPIFactory factory : factories)
+            if (factory.getStorageName().equals(type))
+                return factory.isThreadSafe();
+        return false;
+    }
+
     private StorageAPI createStorage(String type) {
         if (NoneStorage.API_TYPE.equals(type))
             return new NoneStorage();
@@ -28,13 +28,17 @@ import org.apache.commons.lang.StringUtils;
 import com.intel.cosbench.api.auth.*;
 import com.intel.cosbench.api.context.AuthContext;
 import com.intel.cosbench.api.storage.*;
+import com.intel.cosbench.bench.LogCounter;
 import com.intel.cosbench.config.*;
 import com.intel.cosbench.config.castor.CastorConfigTools;
 import com.intel.cosbench.config.common.KVConfigParser;
 import com.intel.cosbench.driver.agent.*;
 import com.intel.cosbench.driver.model.*;
 import com.intel.cosbench.driver.operator.Operators;
+import com.intel.cosbench.driver.operator.ParallelOperator;
+import com.intel.cosbench.driver.util.ArrivalSchedule;
 import com.intel.cosbench.driver.util.OperationPicker;
+import com.intel.cosbench.driver.util.VirtualThreads;
 import com.intel.cosbench.log.*;
 import com.intel.cosbench.service.*;
 import com.intel.cosbench.service.IllegalStateException;
@@ -46,6 +50,34 @@ class MissionHandler {
 
     private static final int DEFAULT_AUTH_RETRY = 0;
 
+    private static final String ENGINE_KEY = "engine";
+
+    private static final String ENGINE_THREAD = "thread";
+
+    private static final String ENGINE_ASYNC = "async";
+
+    private static final String ENGINE_VIRTUAL = "virtual";
+
+    private static final String INFLIGHT_KEY = "inflight";
+
+    private static final int DEFAULT_INFLIGHT = 64;
+
+    private static final String RATE_KEY = "rate";
+
+    private static final String ARRIVAL_KEY = "arrival";
+
+    private static final String CORRECTION_KEY = "correction";
+
+    private static final String SLACK_KEY = "slack";
+
+    private static final String HISTO_UNIT_KEY = "histoUnit";
+
+    private static final String HISTO_DIGITS_KEY = "histoDigits";
+
+    private static final String SHARE_STORAGE_KEY = "shareStorage";
+
+    private static final String STORAGE_STRIPES_KEY = "storageStripes";
+
     private static final Logger LOGGER = LogFactory.getSystemLogger();
 
     private static final File LOG_DIR = new File(new File("log"), "mission");
@@ -56,13 +88,18 @@ class MissionHandler {
     }
 
     private int retry; // auth retry number
+    private String engine; // execution engine for work agents
+    private int inflight; // outstanding operations per async work agent
     private Config authConfig; // shared auth configurations
     private Config storageConfig; // shared storage configurations
+    private boolean shareStorage; // share thread-safe storage among workers
+    private int stripes; // number of shared storage instances
 
     private AuthAPIService authAPIs;
     private StorageAPIService storageAPIs;
 
     private ExecutorService executor;
+    private WatchDog dog; // timeout service shared by work agents
     private MissionContext missionContext;
 
     public MissionHandler() {
@@ -89,6 +126,9 @@ class MissionHandler {
         if (executor != null)
             executor.shutdown();
         executor = null;
+        if (dog != null)
+            dog.dispose();
+        dog = null;
     }
 
     public void init() {
@@ -98,7 +138,9 @@ class MissionHandler {
         initOpPicker();
         parseConfigs();
         createWorkers();
+        checkEngine();
         createExecutor();
+        dog = new WatchDog(missionContext.getId());
     }
 
     private void resolveMission() {
@@ -126,8 +168,11 @@ class MissionHandler {
         OperatorRegistry registry = new OperatorRegistry();
         Mission mission = missionContext.getMission();
         initOpDefaultName(mission);
-        for (Operation op : mission)
-            registry.addOperator(createOperatorContext(op));
+        for (Operation op : mission) {
+            OperatorContext context = createOperatorContext(op);
+            context.getOperator().setIndex(registry.getSize());
+            registry.addOperator(context);
+        }
         missionContext.setOperatorRegistry(registry);
     }
 
@@ -173,20 +218,129 @@ class MissionHandler {
         authConfig = KVConfigParser.parse(m.getAuth().getConfig());
         retry = authConfig.getInt(AUTH_RETRY_KEY, DEFAULT_AUTH_RETRY);
         storageConfig = KVConfigParser.parse(m.getStorage().getConfig());
+        Config missionConfig = KVConfigParser.parse(m.getConfig());
+        engine = missionConfig.get(ENGINE_KEY, ENGINE_THREAD);
+        inflight = missionConfig.getInt(INFLIGHT_KEY, DEFAULT_INFLIGHT);
+        shareStorage = missionConfig.getBoolean(SHARE_STORAGE_KEY, true);
+        stripes = missionConfig.getInt(STORAGE_STRIPES_KEY, 1);
+        if (stripes <= 0)
+            throw new ConfigException("illegal storage stripes: " + stripes);
+        if (!ENGINE_THREAD.equals(engine) && !ENGINE_ASYNC.equals(engine)
+                && !ENGINE_VIRTUAL.equals(engine))
+            throw new ConfigException("unrecognized engine: " + engine);
+        if (inflight <= 0)
+            throw new ConfigException("illegal inflight: " + inflight);
+        checkParallel(m.getStorage().getType());
+        initCounters(missionConfig);
+        initSchedule(m, missionConfig);
         LOGGER.debug("driver mission config  is: "+m.getConfig());
     }
 
+    /*
+     * Parallel requests of one worker share its storage instance, which is
+     * only possible with thread-safe storage adaptors.
+     */
+    private void checkParallel(String type) {
+        if (storageAPIs.isThreadSafe(type))
+            return;
+        for (OperatorContext op : missionContext.getOperatorRegistry()) {
+            if (!(op.getOperator() instanceof ParallelOperator))
+                continue;
+            if (((ParallelOperator) op.getOperator()).getParallel() > 1)
+                throw new ConfigException(type + " storage is not thread-safe,"
+                        + " operation " + op.getName() + " needs parallel=1");
+        }
+    }
+
+    private void initCounters(Config missionConfig) {
+        String unit = missionConfig.get(HISTO_UNIT_KEY, "us");
+        int digits = missionConfig.getInt(HISTO_DIGITS_KEY,
+                LogCounter.DEFAULT_DIGITS);
+        if (!"us".equals(unit) && !"ns".equals(unit))
+            throw new ConfigException("unrecognized histogram unit: " + unit);
+        if (digits < 1 || digits > 5)
+            throw new ConfigException("illegal histogram digits: " + digits);
+        for (OperatorContext op : missionContext.getOperatorRegistry())
+            op.initCounter("ns".equals(unit) ? LogCounter.NANOSECONDS
+                    : LogCounter.MICROSECONDS, digits);
+    }
+
+    private void initSchedule(Mission mission, Config missionConfig) {
+        double rate = missionConfig.getDouble(RATE_KEY, 0D);
+        String arrival = missionConfig.get(ARRIVAL_KEY,
+                ArrivalSchedule.CONSTANT);
+        if (rate < 0)
+            throw new ConfigException("illegal rate: " + rate);
+        if (!ArrivalSchedule.isSupported(arrival))
+            throw new ConfigException("unrecognized arrival: " + arrival);
+        /* lateness (in ms) tolerated before an arrival counts as missed */
+        double slack = missionConfig.getDouble(SLACK_KEY,
+                ArrivalSchedule.DEFAULT_SLACK / 1000000D);
+        if (slack < 0)
+            throw new ConfigException("illegal slack: " + slack);
+        boolean correction = missionConfig.getBoolean(CORRECTION_KEY, false);
+        if (rate == 0) {
+            if (correction)
+                LOGGER.warn("latency correction takes no effect "
+                        + "without a target rate");
+            return; // closed-loop work
+        }
+        if (correction)
+            for (OperatorContext op : missionContext.getOperatorRegistry())
+                op.enableCorrection();
+        /* the work-level rate is shared among drivers by their workers */
+        rate = rate * mission.getWorkers() / mission.getTotalWorkers();
+        LOGGER.debug("using {} arrivals at {} op/s", arrival, rate);
+        ArrivalSchedule schedule = new ArrivalSchedule(rate, arrival);
+        schedule.setSlack((long) (slack * 1000000D));
+        missionContext.setArrivalSchedule(schedule);
+    }
+
     private void createWorkers() {
         WorkerRegistry registry = new WorkerRegistry();
         Mission mission = missionContext.getMission();
         int workers = mission.getWorkers();
         int offset = mission.getOffset();
-        for (int idx = 1; idx <= workers; idx++)
-            registry.addWorker(createWorkerContext(idx + offset, mission));
+        SharedStorage[] shared = createSharedStorages(mission.getStorage(),
+                workers);
+        for (int idx = 1; idx <= workers; idx++) {
+            WorkerContext context = createWorkerContext(idx + offset, mission,
+                    shared == null ? null : shared[(idx - 1) % shared.length]);
+            registry.addWorker(context);
+        }
         missionContext.setWorkerRegistry(registry);
     }
 
-    private WorkerContext createWorkerContext(int idx, Mission mission) {
+    /**
+     * Creates storage instances to be shared by all workers, which is only
+     * possible for thread-safe storage adaptors, instances are striped among
+     * workers if more than one instance is requested.
+     * 
+     * @return the shared storage instances, null if not to share
+     */
+    private SharedStorage[] createSharedStorages(Storage storage, int workers) {
+        String type = storage.getType();
+        if (!shareStorage || ENGINE_ASYNC.equals(engine)
+                || !storageAPIs.isThreadSafe(type))
+            return null;
+        int count = Math.min(stripes, workers);
+        int concurrency = (workers + count - 1) / count;
+        LOGGER.debug("sharing {} {} storage instances among {} workers",
+                new Object[] { count, type, workers });
+        /* the concurrency hint can be overridden by the storage config */
+        Config config = KVConfigParser.parse(StorageConstants.CONCURRENCY_KEY
+                + "=" + concurrency + ";"
+                + StringUtils.defaultString(storage.getConfig()));
+        Logger logger = missionContext.getLogManager().getLogger();
+        SharedStorage[] shared = new SharedStorage[count];
+        for (int i = 0; i < count; i++)
+            shared[i] = new SharedStorage(storageAPIs.getStorage(type, config,
+                    logger));
+        return shared;
+    }
+
+    private WorkerContext createWorkerContext(int idx, Mission mission,
+            SharedStorage shared) {
         LogManager manager = missionContext.getLogManager();
         WorkerContext context = new WorkerContext();
         context.setIndex(idx);
@@ -194,7 +348,8 @@ class MissionHandler {
         context.setLogger(manager.getLogger());
         context.setErrorStatistics(missionContext.getErrorStatistics());
         context.setAuthApi(createAuthApi(mission.getAuth(), manager));
-        context.setStorageApi(createStorageApi(mission.getStorage(), manager));
+        context.setStorageApi(shared != null ? shared.newView()
+                : createStorageApi(mission.getStorage(), manager));
         return context;
     }
 
@@ -213,6 +368,17 @@ class MissionHandler {
     private void createExecutor() {
         Mission mission = missionContext.getMission();
         int workers = mission.getWorkers();
+        if (ENGINE_VIRTUAL.equals(engine)) {
+            if (VirtualThreads.isSupported()) {
+                LOGGER.debug("using virtual thread engine for {} workers",
+                        workers);
+                executor = VirtualThreads.newExecutor();
+                return;
+            }
+            LOGGER.warn("virtual threads are not supported by current JVM, "
+                    + "fall back to the thread engine");
+            engine = ENGINE_THREAD;
+        }
         executor = Executors.newFixedThreadPool(workers);
     }
 
@@ -328,11 +494,35 @@ class MissionHandler {
 
     private List<Agent> createWorkAgents() {
         List<Agent> agents = new ArrayList<Agent>();
+        boolean async = ENGINE_ASYNC.equals(engine);
         for (WorkerContext workerConext : missionContext.getWorkerRegistry())
-            agents.add(Agents.newWorkAgent(workerConext, missionContext));
+            if (async)
+                agents.add(Agents.newAsyncWorkAgent(workerConext,
+                        missionContext, dog, inflight));
+            else
+                agents.add(Agents.newWorkAgent(workerConext, missionContext,
+                        dog));
         return agents;
     }
 
+    /*
+     * The async engine needs a storage adaptor able to issue operations
+     * without blocking, silently running on threads instead would not
+     * produce the load asked for.
+     */
+    private void checkEngine() {
+        if (!ENGINE_ASYNC.equals(engine))
+            return;
+        for (WorkerContext worker : missionContext.getWorkerRegistry())
+            if (!(worker.getStorageApi() instanceof AsyncStorageAPI))
+                throw new ConfigException("storage "
+                        + missionContext.getMission().getStorage().getType()
+                        + " has no asynchronous support, use engine="
+                        + ENGINE_THREAD + " instead");
+        LOGGER.debug("using async engine with {} inflight operations per worker",
+                inflight);
+    }
+
     private void executeAgents(List<Agent> agents, int timeout) {
         int num = agents.size();
         LOGGER.debug("begin to execute agents, {} in total", num);
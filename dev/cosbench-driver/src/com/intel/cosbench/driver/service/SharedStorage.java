@@ -0,0 +1,115 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+
+package com.intel.cosbench.driver.service;
+
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.intel.cosbench.api.storage.StorageAPI;
+
+/**
+ * This class shares one thread-safe storage instance among the workers of a
+ * mission. Each worker gets its own view, which keeps all capabilities of the
+ * storage instance, while:
+ * 
+ * <ul>
+ * <li>disposing a view only releases it, the storage instance itself is
+ * disposed with the last view</li>
+ * <li>aborting a view interrupts the operations being performed through it
+ * rather than every operation in progress on the storage instance</li>
+ * </ul>
+ * 
+ */
+class SharedStorage {
+
+    private StorageAPI api;
+    private Class<?>[] types; /* storage interfaces to expose */
+    private int refs;
+
+    public SharedStorage(StorageAPI api) {
+        this.api = api;
+        Set<Class<?>> types = new LinkedHashSet<Class<?>>();
+        for (Class<?> c = api.getClass(); c != null; c = c.getSuperclass())
+            for (Class<?> type : c.getInterfaces())
+                if (StorageAPI.class.isAssignableFrom(type))
+                    types.add(type);
+        this.types = types.toArray(new Class<?>[types.size()]);
+    }
+
+    public synchronized StorageAPI newView() {
+        refs++;
+        return (StorageAPI) Proxy.newProxyInstance(api.getClass()
+                .getClassLoader(), types, new View());
+    }
+
+    private synchronized void release() {
+        if (--refs == 0)
+            api.dispose();
+    }
+
+    private class View implements InvocationHandler {
+
+        /* threads currently inside the storage */
+        private Set<Thread> callers = Collections
+                .newSetFromMap(new ConcurrentHashMap<Thread, Boolean>());
+        private boolean disposed;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args)
+                throws Throwable {
+            String name = method.getName();
+            if (method.getDeclaringClass() == Object.class) {
+                if (name.equals("equals"))
+                    return proxy == args[0];
+                if (name.equals("hashCode"))
+                    return System.identityHashCode(proxy);
+                return "shared " + api;
+            }
+            if (args == null && name.equals("dispose")) {
+                dispose();
+                return null;
+            }
+            if (args == null && name.equals("abort")) {
+                for (Thread thread : callers)
+                    thread.interrupt();
+                return null;
+            }
+            Thread thread = Thread.currentThread();
+            boolean entered = callers.add(thread); /* false if re-entered */
+            try {
+                return method.invoke(api, args);
+            } catch (InvocationTargetException ite) {
+                throw ite.getCause();
+            } finally {
+                if (entered)
+                    callers.remove(thread);
+            }
+        }
+
+        private synchronized void dispose() {
+            if (disposed)
+                return;
+            disposed = true;
+            release();
+        }
+
+    }
+
+}
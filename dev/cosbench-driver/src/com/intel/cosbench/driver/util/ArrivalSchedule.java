@@ -0,0 +1,110 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.driver.util;
+
+import java.util.Random;
+
+/**
+ * This class computes the arrival schedule for open-loop works: operations are
+ * due at intervals derived from the target rate, no matter how fast previous
+ * operations complete. One schedule is shared by all work agents of a mission,
+ * and each agent claims the next arrival before it issues an operation.
+ * 
+ */
+public class ArrivalSchedule {
+
+    public static final String CONSTANT = "constant";
+    public static final String POISSON = "poisson";
+    public static final String UNIFORM = "uniform";
+
+    /* default lateness tolerated before an arrival counts as missed */
+    public static final long DEFAULT_SLACK = 1000000L; // 1 ms
+
+    private String arrival; /* arrival process */
+    private double period; /* mean interval between arrivals in nanoseconds */
+    private long slack = DEFAULT_SLACK; /* in nanoseconds */
+
+    private long origin; /* time of the first arrival */
+    private double offset; /* offset of the next arrival to origin */
+    private boolean started = false;
+
+    private Random random = new Random();
+
+    public ArrivalSchedule(double rate, String arrival) {
+        if (rate <= 0)
+            throw new IllegalArgumentException("illegal rate: " + rate);
+        if (!isSupported(arrival))
+            throw new IllegalArgumentException("unrecognized arrival: "
+                    + arrival);
+        this.arrival = arrival;
+        this.period = 1000000000D / rate;
+    }
+
+    public long getSlack() {
+        return slack;
+    }
+
+    /**
+     * Sets how late (in ns) an operation may start before its arrival counts
+     * as missed, which keeps ordinary sleep overshoot out of the count.
+     */
+    public void setSlack(long slack) {
+        if (slack < 0)
+            throw new IllegalArgumentException("illegal slack: " + slack);
+        this.slack = slack;
+    }
+
+    /**
+     * @param queueTime
+     *            how long (in ns) an operation was queued behind schedule
+     * @return whether the arrival of the operation counts as missed
+     */
+    public boolean isMissed(long queueTime) {
+        return queueTime > slack;
+    }
+
+    public static boolean isSupported(String arrival) {
+        return CONSTANT.equals(arrival) || POISSON.equals(arrival)
+                || UNIFORM.equals(arrival);
+    }
+
+    /**
+     * Claims the next arrival, the schedule starts with the first claim.
+     * 
+     * @return the intended start time of the operation, in the time base of
+     *         <code>System.nanoTime()</code>
+     */
+    public synchronized long nextArrival() {
+        if (!started) {
+            origin = System.nanoTime();
+            started = true;
+        }
+        long due = origin + (long) offset;
+        offset += nextInterval();
+        return due;
+    }
+
+    private double nextInterval() {
+        if (POISSON.equals(arrival))
+            return -Math.log(1D - random.nextDouble()) * period;
+        if (UNIFORM.equals(arrival))
+            return 2D * random.nextDouble() * period;
+        return period;
+    }
+
+}
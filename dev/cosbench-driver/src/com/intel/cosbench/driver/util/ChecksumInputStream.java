@@ -0,0 +1,86 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.driver.util;
+
+import java.io.*;
+import java.util.zip.Checksum;
+
+/**
+ * This class passes data through while computing its checksum, and appends
+ * the binary trailer described in {@link Checksums} at the end of stream.
+ * 
+ */
+public class ChecksumInputStream extends FilterInputStream {
+
+    private Checksum checksum;
+    private byte id;
+    private byte[] trailer; /* built at end of data */
+    private int served; /* trailer bytes returned */
+
+    public ChecksumInputStream(InputStream in, String algo) {
+        super(in);
+        this.checksum = Checksums.newChecksum(algo);
+        this.id = Checksums.getId(algo);
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        int n = read(b, 0, 1);
+        return n < 0 ? -1 : b[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0)
+            return 0;
+        if (trailer == null) {
+            int n = in.read(b, off, len);
+            if (n > 0) {
+                checksum.update(b, off, n);
+                return n;
+            }
+            if (n == 0)
+                return 0;
+            trailer = new byte[Checksums.TRAILER];
+            Checksums.writeTrailer(trailer, id, checksum.getValue());
+        }
+        if (served >= trailer.length)
+            return -1;
+        int n = Math.min(len, trailer.length - served);
+        System.arraycopy(trailer, served, b, off, n);
+        served += n;
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        throw new IOException("skip not supported");
+    }
+
+    @Override
+    public int available() throws IOException {
+        return trailer == null ? in.available() : trailer.length - served;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+}
@@ -0,0 +1,130 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.driver.util;
+
+import java.lang.reflect.Constructor;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+
+import com.intel.cosbench.config.ConfigException;
+
+/**
+ * This class provides the fast (non-cryptographic) checksums used for
+ * integrity checking, the value is carried in a fixed binary trailer:
+ * 
+ * <pre>
+ * 'C' 'B' 'C' id | 4 bytes reserved (0) | 8 bytes checksum (big-endian)
+ * </pre>
+ * 
+ * CRC32C is taken from the runtime when it provides one (Java 9+), otherwise a
+ * pure Java implementation is used, so that writers and readers always agree
+ * on the algorithm configured.
+ * 
+ */
+public class Checksums {
+
+    public static final String MD5 = "md5"; // the legacy textual trailer
+    public static final String CRC32 = "crc32";
+    public static final String CRC32C = "crc32c";
+    public static final String XXHASH64 = "xxhash64";
+
+    public static final int TRAILER = 16; // bytes
+
+    /* algorithm ids in the trailer */
+    public static final byte ID_CRC32 = 1;
+    public static final byte ID_CRC32C = 2;
+    public static final byte ID_XXHASH64 = 3;
+
+    private static final Constructor<?> CRC32C_CTOR = findCRC32C();
+
+    private static Constructor<?> findCRC32C() {
+        try {
+            return Class.forName("java.util.zip.CRC32C").getConstructor();
+        } catch (Exception e) {
+            return null; // not available before Java 9
+        }
+    }
+
+    public static boolean isSupported(String algo) {
+        return MD5.equals(algo) || CRC32.equals(algo) || CRC32C.equals(algo)
+                || XXHASH64.equals(algo);
+    }
+
+    /**
+     * @return the name of the binary checksum configured, or null if none or
+     *         the legacy md5 one is used
+     */
+    public static String getChecksum(String algo, boolean hashCheck) {
+        if (!isSupported(algo))
+            throw new ConfigException("unrecognized checksum: " + algo);
+        return hashCheck && !MD5.equals(algo) ? algo : null;
+    }
+
+    public static byte getId(String algo) {
+        if (XXHASH64.equals(algo))
+            return ID_XXHASH64;
+        return CRC32.equals(algo) ? ID_CRC32 : ID_CRC32C;
+    }
+
+    public static Checksum newChecksum(String algo) {
+        return newChecksum(getId(algo));
+    }
+
+    public static Checksum newChecksum(byte id) {
+        if (id == ID_XXHASH64)
+            return new XXHash64();
+        if (id == ID_CRC32)
+            return new CRC32();
+        if (CRC32C_CTOR != null)
+            try {
+                return (Checksum) CRC32C_CTOR.newInstance();
+            } catch (Exception e) {
+                /* fall back to the plain Java one */
+            }
+        return new JavaCRC32C();
+    }
+
+    public static void writeTrailer(byte[] dst, byte id, long value) {
+        dst[0] = 'C';
+        dst[1] = 'B';
+        dst[2] = 'C';
+        dst[3] = id;
+        for (int i = 4; i < 8; i++)
+            dst[i] = 0;
+        for (int i = 0; i < 8; i++)
+            dst[8 + i] = (byte) (value >>> (56 - i * 8));
+    }
+
+    /**
+     * @return the algorithm id recorded in the trailer, or -1 if the bytes are
+     *         not a trailer
+     */
+    public static int readId(byte[] src, int off) {
+        if (src[off] != 'C' || src[off + 1] != 'B' || src[off + 2] != 'C')
+            return -1;
+        return src[off + 3];
+    }
+
+    public static long readValue(byte[] src, int off) {
+        long value = 0;
+        for (int i = 0; i < 8; i++)
+            value = (value << 8) | (src[off + 8 + i] & 0xFFL);
+        return value;
+    }
+
+}
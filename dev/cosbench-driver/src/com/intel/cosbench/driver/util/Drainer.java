@@ -0,0 +1,111 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.driver.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.intel.cosbench.config.Config;
+import com.intel.cosbench.config.ConfigException;
+
+/**
+ * This class consumes and discards the content read from storage, counting
+ * the bytes and noting when the first byte arrived. The content is read into
+ * a heap buffer of "drainBuffer" bytes, which is kept per thread and shared
+ * among drainers, so that each worker holds at most one buffer.
+ * 
+ */
+public class Drainer {
+
+    public static final int DEFAULT_BUFFER = 64 * 1024;
+
+    private static final ThreadLocal<State> STATES = new ThreadLocal<State>() {
+        @Override
+        protected State initialValue() {
+            return new State();
+        }
+    };
+
+    private int size;
+
+    public Drainer(int size) {
+        if (size <= 0)
+            throw new ConfigException("illegal drain buffer: " + size);
+        this.size = size;
+    }
+
+    public static Drainer newDrainer(Config config) {
+        return new Drainer(config.getInt("drainBuffer", DEFAULT_BUFFER));
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Reads the given stream to its end, the stream is not closed.
+     * 
+     * @return the number of bytes consumed
+     */
+    public long drain(InputStream in) throws IOException {
+        State state = STATES.get();
+        state.firstByte = 0L;
+        byte[] buf = state.getArray(size);
+        long bytes = 0L;
+        int n;
+        while ((n = in.read(buf)) >= 0) {
+            if (bytes == 0L && n > 0)
+                state.firstByte = System.nanoTime();
+            bytes += n;
+        }
+        state.lastByte = System.nanoTime();
+        return bytes;
+    }
+
+    /**
+     * @return when the first byte of the last drain on the current thread
+     *         arrived (from System.nanoTime), or 0 if there was no content
+     */
+    public long getFirstByteNanos() {
+        return STATES.get().firstByte;
+    }
+
+    /**
+     * @return the time between the first byte and the end of the last drain
+     *         on the current thread in nanoseconds
+     */
+    public long getXferNanoTime() {
+        State state = STATES.get();
+        return state.firstByte != 0L ? state.lastByte - state.firstByte : 0L;
+    }
+
+    private static class State {
+
+        private byte[] array;
+        private long firstByte;
+        private long lastByte;
+
+        byte[] getArray(int size) {
+            if (array == null || array.length < size)
+                array = new byte[size];
+            return array;
+        }
+
+    }
+
+}
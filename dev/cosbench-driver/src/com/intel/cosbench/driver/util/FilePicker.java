@@ -43,6 +43,6 @@ public class FilePicker {
     }
 
     public int pickObjKey(Random random) {
-        return objNmGen.nextKey(random);
+        return (int) objNmGen.nextKey(random);
     }
 }
@@ -0,0 +1,84 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.driver.util;
+
+import java.util.zip.Checksum;
+
+/**
+ * A slicing-by-8 implementation of CRC32C (Castagnoli), used for both writing
+ * and verifying such checksums on runtimes which do not provide
+ * <code>java.util.zip.CRC32C</code> (before Java 9).
+ * 
+ */
+class JavaCRC32C implements Checksum {
+
+    /* eight tables of 256 entries, table k covers bytes k positions ahead */
+    private static final int[] TABLE = new int[8 * 256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            int crc = i;
+            for (int k = 0; k < 8; k++)
+                crc = (crc & 1) != 0 ? (crc >>> 1) ^ 0x82F63B78 : crc >>> 1;
+            TABLE[i] = crc;
+        }
+        for (int i = 256; i < TABLE.length; i++) {
+            int crc = TABLE[i - 256];
+            TABLE[i] = (crc >>> 8) ^ TABLE[crc & 0xFF];
+        }
+    }
+
+    private int crc = 0xFFFFFFFF;
+
+    @Override
+    public void update(int b) {
+        crc = (crc >>> 8) ^ TABLE[(crc ^ b) & 0xFF];
+    }
+
+    @Override
+    public void update(byte[] b, int off, int len) {
+        int c = crc;
+        int end = off + len;
+        for (int last = end - 8; off <= last; off += 8) {
+            c ^= (b[off] & 0xFF) | (b[off + 1] & 0xFF) << 8
+                    | (b[off + 2] & 0xFF) << 16 | b[off + 3] << 24;
+            c = TABLE[7 * 256 + (c & 0xFF)]
+                    ^ TABLE[6 * 256 + (c >>> 8 & 0xFF)]
+                    ^ TABLE[5 * 256 + (c >>> 16 & 0xFF)]
+                    ^ TABLE[4 * 256 + (c >>> 24)]
+                    ^ TABLE[3 * 256 + (b[off + 4] & 0xFF)]
+                    ^ TABLE[2 * 256 + (b[off + 5] & 0xFF)]
+                    ^ TABLE[256 + (b[off + 6] & 0xFF)]
+                    ^ TABLE[b[off + 7] & 0xFF];
+        }
+        for (; off < end; off++)
+            c = (c >>> 8) ^ TABLE[(c ^ b[off]) & 0xFF];
+        crc = c;
+    }
+
+    @Override
+    public long getValue() {
+        return ~crc & 0xFFFFFFFFL;
+    }
+
+    @Override
+    public void reset() {
+        crc = 0xFFFFFFFF;
+    }
+
+}
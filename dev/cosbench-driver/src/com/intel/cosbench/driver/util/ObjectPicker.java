@@ -75,8 +75,11 @@ public class ObjectPicker {
         return Generators.getNameGenerator(pattern, prefix, suffix);
     }
 
+    /*
+     * No locking here: generators keep no shared mutable state other than
+     * atomic cursors, and the random source belongs to the calling worker.
+     */
     public String[] pickObjPath(Random random, int idx, int all) {
-    	synchronized(this) {
         if (division.equals(OBJECT))
             return new String[] { conNmGen.next(random),
                     objNmGen.next(random, idx, all) };
@@ -84,21 +87,18 @@ public class ObjectPicker {
             return new String[] { conNmGen.next(random, idx, all),
                     objNmGen.next(random) };
         return new String[] { conNmGen.next(random), objNmGen.next(random) };
-    	}
     }
     
     /* a path picker for Lister */
     public String[] pickTargetPath(Random random, int idx, int all) {
-		synchronized (this) {
-			if (conNmGen == null && objNmGen != null) {
-				throw new ConfigException("no such key defined: " + "containers"); 
-			} else if (conNmGen == null && objNmGen == null) {
-				return new String[] { "", "" };
-			} else if (objNmGen == null) {
-				return new String[] { conNmGen.next(random, idx, all), "" };
-			} else {
-				return new String[] { conNmGen.next(random), objNmGen.next(random) };
-			}
+		if (conNmGen == null && objNmGen != null) {
+			throw new ConfigException("no such key defined: " + "containers"); 
+		} else if (conNmGen == null && objNmGen == null) {
+			return new String[] { "", "" };
+		} else if (objNmGen == null) {
+			return new String[] { conNmGen.next(random, idx, all), "" };
+		} else {
+			return new String[] { conNmGen.next(random), objNmGen.next(random) };
 		}
 	}
 
@@ -19,38 +19,91 @@ package com.intel.cosbench.driver.util;
 
 import java.util.*;
 
-import org.apache.commons.lang.math.RandomUtils;
-
 /**
  * This class encapsulates logic to pick up operations.
  * 
+ * Ratios may be fractional (e.g. 99.7/0.25/0.05), operations are picked in
+ * constant time from an alias table (Vose's method) no matter how many of them
+ * are defined.
+ * 
  * @author ywang19, qzheng7
  * 
  */
 public class OperationPicker {
 
-    private int last;
-    private Map<Integer, String> ops;
+    private List<String> ops;
+    private List<Double> ratios;
+
+    /* alias table, rebuilt whenever an operation is added */
+    private String[] names = new String[0];
+    private double[] probs = new double[0];
+    private int[] aliases = new int[0];
 
     public OperationPicker() {
-        Map<Integer, String> ops = new LinkedHashMap<Integer, String>();
-        this.ops = ops;
-        this.last = 0;
+        this.ops = new ArrayList<String>();
+        this.ratios = new ArrayList<Double>();
     }
 
-    public void addOperation(String op, int ratio) {
+    public void addOperation(String op, double ratio) {
         if (ratio <= 0)
             return;
-        last += ratio;
-        ops.put(last, op);
+        ops.add(op);
+        ratios.add(ratio);
+        buildTable();
+    }
+
+    private void buildTable() {
+        int n = ops.size();
+        double sum = 0;
+        for (double ratio : ratios)
+            sum += ratio;
+        String[] names = ops.toArray(new String[n]);
+        double[] probs = new double[n];
+        int[] aliases = new int[n];
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int ns = 0, nl = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = ratios.get(i) * n / sum;
+            if (scaled[i] < 1D)
+                small[ns++] = i;
+            else
+                large[nl++] = i;
+        }
+        while (ns > 0 && nl > 0) {
+            int s = small[--ns];
+            int l = large[--nl];
+            probs[s] = scaled[s];
+            aliases[s] = l;
+            scaled[l] = (scaled[l] + scaled[s]) - 1D;
+            if (scaled[l] < 1D)
+                small[ns++] = l;
+            else
+                large[nl++] = l;
+        }
+        /* leftovers are (up to rounding errors) exactly full */
+        while (nl > 0) {
+            int l = large[--nl];
+            probs[l] = 1D;
+            aliases[l] = l;
+        }
+        while (ns > 0) {
+            int s = small[--ns];
+            probs[s] = 1D;
+            aliases[s] = s;
+        }
+        this.names = names;
+        this.probs = probs;
+        this.aliases = aliases;
     }
 
     public String pickOperation(Random random) {
-        int r = RandomUtils.nextInt(random, 100) + 1;
-        for (Map.Entry<Integer, String> entry : ops.entrySet())
-            if (r <= entry.getKey())
-                return entry.getValue();
-        throw new IllegalStateException();
+        int n = names.length;
+        if (n == 0)
+            throw new IllegalStateException();
+        int i = random.nextInt(n);
+        return random.nextDouble() < probs[i] ? names[i] : names[aliases[i]];
     }
 
 }
@@ -37,7 +37,11 @@ public class SizePicker {
     }
 
     public void init(Config config) {
-        String sizes = config.get("sizes");
+        init(config, "sizes");
+    }
+
+    public void init(Config config, String key) {
+        String sizes = config.get(key);
         generator = Generators.getSizeGenerator(sizes);
     }
 
@@ -45,4 +49,18 @@ public class SizePicker {
         return generator.next(random);
     }
 
+    /**
+     * @return the smallest size (in bytes) ever picked
+     */
+    public long getMinSize() {
+        return generator.getLower();
+    }
+
+    /**
+     * @return the largest size (in bytes) ever picked
+     */
+    public long getMaxSize() {
+        return generator.getUpper();
+    }
+
 }
@@ -0,0 +1,67 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.driver.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.*;
+
+/**
+ * This class detects whether the running JVM is able to run tasks on virtual
+ * threads, it is accessed through reflection since the code base still targets
+ * older Java releases.
+ * 
+ */
+public class VirtualThreads {
+
+    private static final Method FACTORY = lookup();
+
+    private static Method lookup() {
+        try {
+            Method method = Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor");
+            /* preview releases throw when virtual threads are not enabled */
+            ((ExecutorService) method.invoke(null)).shutdown();
+            return method;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    public static boolean isSupported() {
+        return FACTORY != null;
+    }
+
+    /**
+     * Creates an executor starting a new virtual thread for each task.
+     * 
+     * @return the executor
+     * @throws UnsupportedOperationException
+     *             if virtual threads are not supported
+     */
+    public static ExecutorService newExecutor() {
+        if (FACTORY == null)
+            throw new UnsupportedOperationException(
+                    "virtual threads are not supported");
+        try {
+            return (ExecutorService) FACTORY.invoke(null);
+        } catch (Exception e) {
+            throw new UnsupportedOperationException(e);
+        }
+    }
+
+}
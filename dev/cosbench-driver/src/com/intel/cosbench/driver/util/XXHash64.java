@@ -0,0 +1,149 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.driver.util;
+
+import java.util.zip.Checksum;
+
+/**
+ * A streaming implementation of the 64-bit xxHash algorithm (seed 0), exposed
+ * as a {@link Checksum} so that it can be used wherever CRC32 is.
+ * 
+ */
+public class XXHash64 implements Checksum {
+
+    private static final long PRIME1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME3 = 0x165667B19E3779F9L;
+    private static final long PRIME4 = 0x85EBCA77C2B2AE63L;
+    private static final long PRIME5 = 0x27D4EB2F165667C5L;
+
+    private long v1, v2, v3, v4;
+    private long total; /* bytes consumed so far */
+    private byte[] mem = new byte[32]; /* pending stripe */
+    private int memSize;
+
+    public XXHash64() {
+        reset();
+    }
+
+    @Override
+    public void reset() {
+        v1 = PRIME1 + PRIME2;
+        v2 = PRIME2;
+        v3 = 0;
+        v4 = -PRIME1;
+        total = 0;
+        memSize = 0;
+    }
+
+    @Override
+    public void update(int b) {
+        update(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void update(byte[] b, int off, int len) {
+        total += len;
+        if (memSize + len < 32) {
+            System.arraycopy(b, off, mem, memSize, len);
+            memSize += len;
+            return;
+        }
+        int end = off + len;
+        if (memSize > 0) {
+            int fill = 32 - memSize;
+            System.arraycopy(b, off, mem, memSize, fill);
+            stripe(mem, 0);
+            off += fill;
+            memSize = 0;
+        }
+        for (; off + 32 <= end; off += 32)
+            stripe(b, off);
+        if (off < end) {
+            memSize = end - off;
+            System.arraycopy(b, off, mem, 0, memSize);
+        }
+    }
+
+    private void stripe(byte[] b, int off) {
+        v1 = round(v1, readLong(b, off));
+        v2 = round(v2, readLong(b, off + 8));
+        v3 = round(v3, readLong(b, off + 16));
+        v4 = round(v4, readLong(b, off + 24));
+    }
+
+    @Override
+    public long getValue() {
+        long h;
+        if (total >= 32) {
+            h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7)
+                    + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            h = merge(h, v1);
+            h = merge(h, v2);
+            h = merge(h, v3);
+            h = merge(h, v4);
+        } else {
+            h = PRIME5;
+        }
+        h += total;
+        int p = 0;
+        for (; p + 8 <= memSize; p += 8) {
+            h ^= round(0, readLong(mem, p));
+            h = Long.rotateLeft(h, 27) * PRIME1 + PRIME4;
+        }
+        if (p + 4 <= memSize) {
+            h ^= (readInt(mem, p) & 0xFFFFFFFFL) * PRIME1;
+            h = Long.rotateLeft(h, 23) * PRIME2 + PRIME3;
+            p += 4;
+        }
+        for (; p < memSize; p++) {
+            h ^= (mem[p] & 0xFFL) * PRIME5;
+            h = Long.rotateLeft(h, 11) * PRIME1;
+        }
+        h ^= h >>> 33;
+        h *= PRIME2;
+        h ^= h >>> 29;
+        h *= PRIME3;
+        h ^= h >>> 32;
+        return h;
+    }
+
+    private static long round(long acc, long input) {
+        acc += input * PRIME2;
+        acc = Long.rotateLeft(acc, 31);
+        return acc * PRIME1;
+    }
+
+    private static long merge(long acc, long val) {
+        acc ^= round(0, val);
+        return acc * PRIME1 + PRIME4;
+    }
+
+    private static long readLong(byte[] b, int i) {
+        return (b[i] & 0xFFL) | (b[i + 1] & 0xFFL) << 8
+                | (b[i + 2] & 0xFFL) << 16 | (b[i + 3] & 0xFFL) << 24
+                | (b[i + 4] & 0xFFL) << 32 | (b[i + 5] & 0xFFL) << 40
+                | (b[i + 6] & 0xFFL) << 48 | (b[i + 7] & 0xFFL) << 56;
+    }
+
+    private static int readInt(byte[] b, int i) {
+        return (b[i] & 0xFF) | (b[i + 1] & 0xFF) << 8 | (b[i + 2] & 0xFF) << 16
+                | (b[i + 3] & 0xFF) << 24;
+    }
+
+}
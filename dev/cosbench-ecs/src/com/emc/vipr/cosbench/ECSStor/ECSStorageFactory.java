@@ -37,4 +37,11 @@ public class ECSStorageFactory implements StorageAPIFactory {
     public StorageAPI getStorageAPI() {
         return new ECSStorage();
     }
+
+    /**
+     * Returns whether instances of this Storage API can be shared by workers
+     */
+    public boolean isThreadSafe() {
+        return false;
+    }
 }
\ No newline at end of file
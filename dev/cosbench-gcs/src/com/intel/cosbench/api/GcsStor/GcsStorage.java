@@ -8,6 +8,7 @@ import static com.intel.cosbench.client.GcsStor.GcsStorConstants.PROJECT_ID;
 import static com.intel.cosbench.client.GcsStor.GcsStorConstants.PROJECT_ID_DEFAULT;
 
 import java.io.*;
+import java.util.*;
 
 import com.intel.cosbench.api.storage.*;
 import com.intel.cosbench.api.context.*;
@@ -22,13 +23,24 @@ import com.google.api.client.json.jackson2.JacksonFactory;
 import com.google.api.services.storage.Storage;
 import com.google.api.services.storage.StorageScopes;
 import com.google.api.services.storage.model.Bucket;
+import com.google.api.services.storage.model.ComposeRequest;
+import com.google.api.services.storage.model.Objects;
 import com.google.api.services.storage.model.StorageObject;
 
-public class GcsStorage extends NoneStorage {
+/**
+ * Multipart uploads are done as parallel composite uploads: each part is
+ * uploaded as a temporary object, and parts are composed into the target
+ * object (at most 32 sources per compose request) before being deleted.
+ */
+public class GcsStorage extends NoneStorage implements MultipartStorageAPI,
+		PayloadStorageAPI {
+
+	private static final int MAX_COMPOSE = 32;
+
 	private int timeout;
 	private String jsonKeyFile;
 	private String projectId;
-	private static Storage client;
+	private Storage client;
 
 	private static final JsonFactory JSON_FACTORY = JacksonFactory
 			.getDefaultInstance();
@@ -122,6 +134,25 @@ public class GcsStorage extends NoneStorage {
 
 	}
 
+	@Override
+	public void createObject(String container, String object,
+			Payload payload, Config config) {
+		super.createObject(container, object, (InputStream) null,
+				payload.getLength(), config);
+		/* the length is known and the stream is markable, so the content
+		 * goes out in one request and can be retried without a copy */
+		InputStreamContent contentStream = new InputStreamContent(
+				"application/octet-stream", payload.newInputStream())
+				.setLength(payload.getLength()).setRetrySupported(true);
+		StorageObject objectMetadata = new StorageObject().setName(object);
+		try {
+			client.objects().insert(container, objectMetadata, contentStream)
+					.execute();
+		} catch (IOException e) {
+			throw new StorageException(e);
+		}
+	}
+
 	@Override
 	public void deleteContainer(String container, Config config) {
 		super.deleteContainer(container, config);
@@ -144,4 +175,68 @@ public class GcsStorage extends NoneStorage {
 		}
 	}
 
+	@Override
+	public String initMultipartUpload(String container, String object,
+			Config config) {
+		return UUID.randomUUID().toString();
+	}
+
+	@Override
+	public String uploadPart(String container, String object, String uploadId,
+			int partNumber, InputStream data, long length, Config config) {
+		String part = getPartPrefix(object, uploadId) + partNumber;
+		createObject(container, part, data, length, config);
+		return part;
+	}
+
+	@Override
+	public void completeMultipartUpload(String container, String object,
+			String uploadId, List<String> parts, Config config) {
+		try {
+			int next = 0;
+			while (next < parts.size()) {
+				List<ComposeRequest.SourceObjects> sources = new ArrayList<ComposeRequest.SourceObjects>();
+				if (next > 0) // append to what has been composed so far
+					sources.add(new ComposeRequest.SourceObjects()
+							.setName(object));
+				while (sources.size() < MAX_COMPOSE && next < parts.size())
+					sources.add(new ComposeRequest.SourceObjects()
+							.setName(parts.get(next++)));
+				ComposeRequest request = new ComposeRequest()
+						.setSourceObjects(sources).setDestination(
+								new StorageObject()
+										.setContentType("application/octet-stream"));
+				client.objects().compose(container, object, request).execute();
+			}
+			for (String part : parts)
+				client.objects().delete(container, part).execute();
+		} catch (IOException e) {
+			throw new StorageException(e);
+		}
+	}
+
+	@Override
+	public void abortMultipartUpload(String container, String object,
+			String uploadId, Config config) {
+		try {
+			String token = null;
+			do {
+				Objects parts = client.objects().list(container)
+						.setPrefix(getPartPrefix(object, uploadId))
+						.setPageToken(token).execute();
+				if (parts.getItems() != null)
+					for (StorageObject part : parts.getItems())
+						client.objects().delete(container, part.getName())
+								.execute();
+				token = parts.getNextPageToken();
+			} while (token != null);
+		} catch (IOException e) {
+			throw new StorageException(e);
+		}
+	}
+
+	private static String getPartPrefix(String object, String uploadId) {
+		return object + "." + uploadId + ".";
+	}
+
 }
@@ -14,4 +14,9 @@ public class GcsStorageFactory implements StorageAPIFactory {
 		return new GcsStorage();
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
 }
@@ -18,6 +18,7 @@ limitations under the License.
 package com.intel.cosbench.client.http;
 
 import java.io.IOException;
+import java.net.Socket;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 
@@ -37,10 +38,14 @@ import org.apache.http.client.methods.HttpHead;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
 import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.ClientConnectionOperator;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
 import org.apache.http.conn.scheme.PlainSocketFactory;
 import org.apache.http.conn.scheme.Scheme;
 import org.apache.http.conn.scheme.SchemeRegistry;
 import org.apache.http.conn.ssl.SSLSocketFactory;
+import org.apache.http.impl.NoConnectionReuseStrategy;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.DefaultHttpClient;
 import org.apache.http.impl.conn.SingleClientConnManager;
 import org.apache.http.params.BasicHttpParams;
@@ -48,8 +53,11 @@ import org.apache.http.params.HttpConnectionParams;
 import org.apache.http.params.HttpParams;
 import org.apache.http.params.HttpProtocolParams;
 import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
 import org.omg.CORBA.PUBLIC_MEMBER;
 
+import com.intel.cosbench.config.Config;
+
 /**
  * This class encapsulates basic HTTP client related functions which are
  * necessary for REST based storage system.
@@ -59,6 +67,31 @@ import org.omg.CORBA.PUBLIC_MEMBER;
  */
 public class HttpClientUtil {
 
+    /* pooled connection management, see createHttpClient(int, Config) */
+    public static final String POOLED_KEY = "pooled";
+    public static final boolean POOLED_DEFAULT = false;
+
+    public static final String MAX_TOTAL_KEY = "max_total";
+    public static final int MAX_TOTAL_DEFAULT = 1024;
+
+    public static final String MAX_PER_ROUTE_KEY = "max_per_route";
+    public static final int MAX_PER_ROUTE_DEFAULT = 1024;
+
+    public static final String KEEP_ALIVE_KEY = "keep_alive";
+    public static final long KEEP_ALIVE_DEFAULT = -1L;
+
+    public static final String IDLE_TIMEOUT_KEY = "idle_timeout";
+    public static final long IDLE_TIMEOUT_DEFAULT = 60000L;
+
+    public static final String SOCKET_BUFFER_KEY = "socket_buffer";
+    public static final int SOCKET_BUFFER_DEFAULT = 8192;
+
+    public static final String RCVBUF_KEY = "rcvbuf";
+    public static final int RCVBUF_DEFAULT = 0;
+
+    public static final String SNDBUF_KEY = "sndbuf";
+    public static final int SNDBUF_DEFAULT = 0;
+
     /**
      * Creates a default HTTP client with a given timeout setting.<br />
      * Note that this client is <strong>NOT Thread-Safe</strong> and can only be
@@ -73,7 +106,91 @@ public class HttpClientUtil {
 	      HttpParams params = createDefaultHttpParams(timeout);
 	      ClientConnectionManager cm = createClientConnManager();
 	
-	      return new DefaultHttpClient(cm, params);    	    	
+	      return newHttpClient(cm, params);
+    }
+
+    /**
+     * Creates an HTTP client as selected by the given storage config. With
+     * <code>pooled=true</code>, the client is backed by a connection pool which
+     * is shared by all clients created with the same pool settings, otherwise
+     * a single connection client is returned as in
+     * {@link #createHttpClient(int)}.<br />
+     * The following keys are honored by pooled clients:
+     * <ul>
+     * <li><code>max_total</code>/<code>max_per_route</code>: pool limits</li>
+     * <li><code>keep_alive</code>: longest time in milliseconds to keep a
+     * connection for reuse, 0 to disable reuse, -1 to follow server hints</li>
+     * <li><code>idle_timeout</code>: time in milliseconds after which idle
+     * connections are evicted, 0 to disable eviction</li>
+     * <li><code>socket_buffer</code>: size of internal socket buffers</li>
+     * <li><code>rcvbuf</code>/<code>sndbuf</code>: SO_RCVBUF/SO_SNDBUF, 0 for
+     * system defaults</li>
+     * </ul>
+     * 
+     * @param timeout
+     *            the timeout in milliseconds that will be honored by this
+     *            client, waiting for a pooled connection is not limited
+     * @param config
+     *            the storage config
+     * @return a new HTTP client
+     */
+    public static HttpClient createHttpClient(int timeout, Config config) {
+        if (!config.getBoolean(POOLED_KEY, POOLED_DEFAULT))
+            return createHttpClient(timeout);
+        return createPooledHttpClient(timeout,
+                config.getInt(MAX_TOTAL_KEY, MAX_TOTAL_DEFAULT),
+                config.getInt(MAX_PER_ROUTE_KEY, MAX_PER_ROUTE_DEFAULT),
+                config);
+    }
+
+    /**
+     * Creates an HTTP client backed by a shared connection pool regardless of
+     * the <code>pooled</code> key, the client itself is thread-safe.
+     * 
+     * @see #createHttpClient(int, Config)
+     */
+    public static HttpClient createPooledHttpClient(int timeout,
+            int maxTotal, int maxPerRoute, Config config) {
+        final long keepAlive = config.getLong(KEEP_ALIVE_KEY,
+                KEEP_ALIVE_DEFAULT);
+        long idleTimeout = config.getLong(IDLE_TIMEOUT_KEY,
+                IDLE_TIMEOUT_DEFAULT);
+        int rcvBuf = config.getInt(RCVBUF_KEY, RCVBUF_DEFAULT);
+        int sndBuf = config.getInt(SNDBUF_KEY, SNDBUF_DEFAULT);
+
+        HttpParams params = createDefaultHttpParams(timeout);
+        HttpConnectionParams.setSocketBufferSize(params,
+                config.getInt(SOCKET_BUFFER_KEY, SOCKET_BUFFER_DEFAULT));
+        ClientConnectionManager cm = PooledConnManager.acquire(maxTotal,
+                maxPerRoute, idleTimeout, rcvBuf, sndBuf);
+
+        DefaultHttpClient client = newHttpClient(cm, params);
+        if (keepAlive == 0)
+            client.setReuseStrategy(new NoConnectionReuseStrategy());
+        else if (keepAlive > 0)
+            client.setKeepAliveStrategy(new ConnectionKeepAliveStrategy() {
+                private ConnectionKeepAliveStrategy hint = new DefaultConnectionKeepAliveStrategy();
+
+                @Override
+                public long getKeepAliveDuration(HttpResponse response,
+                        HttpContext context) {
+                    long duration = hint.getKeepAliveDuration(response, context);
+                    return duration > 0 ? Math.min(duration, keepAlive)
+                            : keepAlive;
+                }
+            });
+        return client;
+    }
+
+    /* the time waiting for response heads is collected in HttpTimings */
+    private static DefaultHttpClient newHttpClient(ClientConnectionManager cm,
+            HttpParams params) {
+        return new DefaultHttpClient(cm, params) {
+            @Override
+            protected HttpRequestExecutor createRequestExecutor() {
+                return new TimedRequestExecutor();
+            }
+        };
     }
 
     private static  HttpParams createDefaultHttpParams(int timeout) {
@@ -90,7 +207,7 @@ public class HttpClientUtil {
     }
     
     @SuppressWarnings({ "deprecation"})
-	private static SSLSocketFactory createSSLSocketFactory()
+	private static SSLSocketFactory createSSLSocketFactory(final int rcvBuf, final int sndBuf)
     {
     	try
     	{
@@ -111,8 +228,13 @@ public class HttpClientUtil {
 	        String[] enabled = {"SSL_RSA_WITH_NULL_MD5","SSL_RSA_WITH_NULL_SHA"};
 	        ctx.createSSLEngine().setEnabledCipherSuites(enabled);
 	        
-	        SSLSocketFactory ssf = new SSLSocketFactory(ctx); 
-	        ssf.setHostnameVerifier(SSLSocketFactory.ALLOW_ALL_HOSTNAME_VERIFIER);     
+	        SSLSocketFactory ssf = new SSLSocketFactory(ctx) {
+	            @Override
+	            public Socket createSocket(HttpParams params) throws IOException {
+	                return setBufferSizes(super.createSocket(params), rcvBuf, sndBuf);
+	            }
+	        }; 
+	        ssf.setHostnameVerifier(new TimedHostnameVerifier(SSLSocketFactory.ALLOW_ALL_HOSTNAME_VERIFIER));
 	        
             return ssf;
         } catch (Exception ex) { 
@@ -122,13 +244,45 @@ public class HttpClientUtil {
     }
 
     private static ClientConnectionManager createClientConnManager()
+    {
+        return new SingleClientConnManager(createSchemeRegistry(0, 0)) {
+            @Override
+            protected ClientConnectionOperator createConnectionOperator(
+                    SchemeRegistry registry) {
+                return new TimedConnOperator(registry);
+            }
+        };
+    }
+
+    static SchemeRegistry createSchemeRegistry(final int rcvBuf, final int sndBuf)
     {
         SchemeRegistry sr = new SchemeRegistry();            
         
-        sr.register(new Scheme("http", 80, PlainSocketFactory.getSocketFactory()));
-        sr.register(new Scheme("https", 443, createSSLSocketFactory()));
+        if (rcvBuf > 0 || sndBuf > 0)
+            sr.register(new Scheme("http", 80, new PlainSocketFactory() {
+                @Override
+                public Socket createSocket(HttpParams params) {
+                    return setBufferSizes(super.createSocket(params), rcvBuf, sndBuf);
+                }
+            }));
+        else
+            sr.register(new Scheme("http", 80, PlainSocketFactory.getSocketFactory()));
+        sr.register(new Scheme("https", 443, createSSLSocketFactory(rcvBuf, sndBuf)));
 
-        return new SingleClientConnManager(sr);
+        return sr;
+    }
+
+    /* buffer sizes must be set before connecting to take effect on the window */
+    private static Socket setBufferSizes(Socket socket, int rcvBuf, int sndBuf) {
+        try {
+            if (rcvBuf > 0)
+                socket.setReceiveBufferSize(rcvBuf);
+            if (sndBuf > 0)
+                socket.setSendBufferSize(sndBuf);
+        } catch (IOException ioe) {
+            // keep system defaults
+        }
+        return socket;
     }
     
     /**
@@ -0,0 +1,122 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+
+package com.intel.cosbench.client.http;
+
+/**
+ * This class collects timings of the HTTP requests issued by the current
+ * thread, they are accumulated until drained by the caller, usually once per
+ * operation.<br />
+ * Besides waiting for pooled connections, the phases of a request are broken
+ * down into name resolution, TCP connect, TLS handshake and the wait for the
+ * response once the request has been sent. The first three are zero for
+ * requests sent on reused connections, and the body transfer is left to the
+ * callers which see the content streams.<br />
+ * Note that all values are kept in nanoseconds.
+ * 
+ */
+public class HttpTimings {
+
+    private static final ThreadLocal<HttpTimings> TIMINGS = new ThreadLocal<HttpTimings>() {
+        @Override
+        protected HttpTimings initialValue() {
+            return new HttpTimings();
+        }
+    };
+
+    private long poolWait; /* time spent waiting for a pooled connection */
+    private long dnsTime; /* time spent resolving host names */
+    private long connTime; /* time spent establishing TCP connections */
+    private long tlsTime; /* time spent in TLS handshakes */
+    private long ttfbTime; /* time from request sent to response head */
+
+    private HttpTimings() {
+        /* empty */
+    }
+
+    /**
+     * @return the timings of the current thread
+     */
+    public static HttpTimings get() {
+        return TIMINGS.get();
+    }
+
+    public long getPoolWait() {
+        return poolWait;
+    }
+
+    public void addPoolWait(long nanos) {
+        poolWait += nanos;
+    }
+
+    public long getDnsTime() {
+        return dnsTime;
+    }
+
+    public void addDnsTime(long nanos) {
+        dnsTime += nanos;
+    }
+
+    public long getConnTime() {
+        return connTime;
+    }
+
+    public void addConnTime(long nanos) {
+        connTime += nanos;
+    }
+
+    public long getTlsTime() {
+        return tlsTime;
+    }
+
+    public void addTlsTime(long nanos) {
+        tlsTime += nanos;
+    }
+
+    public long getTtfbTime() {
+        return ttfbTime;
+    }
+
+    public void addTtfbTime(long nanos) {
+        ttfbTime += nanos;
+    }
+
+    /**
+     * @return a copy of the timings collected since the last call, which are
+     *         then cleared
+     */
+    public HttpTimings drain() {
+        HttpTimings copy = new HttpTimings();
+        copy.poolWait = poolWait;
+        copy.dnsTime = dnsTime;
+        copy.connTime = connTime;
+        copy.tlsTime = tlsTime;
+        copy.ttfbTime = ttfbTime;
+        reset();
+        return copy;
+    }
+
+    public void reset() {
+        poolWait = 0;
+        dnsTime = 0;
+        connTime = 0;
+        tlsTime = 0;
+        ttfbTime = 0;
+    }
+
+}
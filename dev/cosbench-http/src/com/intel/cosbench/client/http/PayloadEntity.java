@@ -0,0 +1,69 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.client.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.apache.http.entity.AbstractHttpEntity;
+
+import com.intel.cosbench.api.storage.Payload;
+
+/**
+ * This class sends a {@link Payload} as request body, the content is written
+ * in large chunks straight from the payload block instead of being pulled
+ * through an input stream a few kilobytes at a time.
+ * 
+ */
+public class PayloadEntity extends AbstractHttpEntity {
+
+    private Payload payload;
+
+    public PayloadEntity(Payload payload) {
+        this.payload = payload;
+        setContentType("application/octet-stream");
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        return payload.getLength();
+    }
+
+    @Override
+    public InputStream getContent() {
+        return payload.newInputStream();
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        payload.writeTo(out);
+        out.flush();
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+
+}
@@ -0,0 +1,153 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+
+package com.intel.cosbench.client.http;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.conn.ClientConnectionOperator;
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.impl.conn.tsccm.ThreadSafeClientConnManager;
+
+/**
+ * This class provides a connection pool which is shared by all HTTP clients
+ * created with the same pool settings, typically the workers of one mission.
+ * <br />
+ * The pool is reference counted, it is shut down when the last client using it
+ * is disposed. Idle connections are evicted by a background thread, and the
+ * time spent waiting for and opening connections is collected in
+ * {@link HttpTimings}.
+ * 
+ */
+class PooledConnManager extends ThreadSafeClientConnManager {
+
+    private static final Map<String, PooledConnManager> POOLS = new HashMap<String, PooledConnManager>();
+
+    private String key;
+    private int refs;
+    private Thread evictor;
+
+    private PooledConnManager(String key, SchemeRegistry registry) {
+        super(registry);
+        this.key = key;
+    }
+
+    /**
+     * Returns the pool matching the given settings, a new pool will be created
+     * if there is no such pool in use.
+     * 
+     * @param idleTimeout
+     *            the time in milliseconds after which idle connections are
+     *            closed, 0 to disable eviction
+     * @param rcvBuf
+     *            the size of socket receive buffer, 0 for system default
+     * @param sndBuf
+     *            the size of socket send buffer, 0 for system default
+     */
+    static synchronized PooledConnManager acquire(int maxTotal,
+            int maxPerRoute, long idleTimeout, int rcvBuf, int sndBuf) {
+        String key = maxTotal + "/" + maxPerRoute + "/" + idleTimeout + "/"
+                + rcvBuf + "/" + sndBuf;
+        PooledConnManager pool = POOLS.get(key);
+        if (pool == null) {
+            pool = new PooledConnManager(key,
+                    HttpClientUtil.createSchemeRegistry(rcvBuf, sndBuf));
+            pool.setMaxTotal(maxTotal);
+            pool.setDefaultMaxPerRoute(maxPerRoute);
+            if (idleTimeout > 0)
+                pool.startEvictor(idleTimeout);
+            POOLS.put(key, pool);
+        }
+        pool.refs++;
+        return pool;
+    }
+
+    private void startEvictor(final long idleTimeout) {
+        evictor = new Thread("http-evictor") {
+            @Override
+            public void run() {
+                long interval = Math.max(idleTimeout / 2, 1000L);
+                try {
+                    while (!isInterrupted()) {
+                        Thread.sleep(interval);
+                        closeExpiredConnections();
+                        closeIdleConnections(idleTimeout, TimeUnit.MILLISECONDS);
+                    }
+                } catch (InterruptedException ie) {
+                    // shut down
+                }
+            }
+        };
+        evictor.setDaemon(true);
+        evictor.start();
+    }
+
+    @Override
+    protected ClientConnectionOperator createConnectionOperator(
+            SchemeRegistry registry) {
+        return new TimedConnOperator(registry);
+    }
+
+    @Override
+    public ClientConnectionRequest requestConnection(HttpRoute route,
+            Object state) {
+        final ClientConnectionRequest request = super.requestConnection(route,
+                state);
+        return new ClientConnectionRequest() {
+            @Override
+            public ManagedClientConnection getConnection(long timeout,
+                    TimeUnit unit) throws InterruptedException,
+                    ConnectionPoolTimeoutException {
+                long start = System.nanoTime();
+                try {
+                    return request.getConnection(timeout, unit);
+                } finally {
+                    HttpTimings.get().addPoolWait(System.nanoTime() - start);
+                }
+            }
+
+            @Override
+            public void abortRequest() {
+                request.abortRequest();
+            }
+        };
+    }
+
+    /**
+     * Releases one reference to this pool, connections are only closed once
+     * no client is using the pool anymore.
+     */
+    @Override
+    public void shutdown() {
+        synchronized (PooledConnManager.class) {
+            if (refs == 0 || --refs > 0)
+                return;
+            POOLS.remove(key);
+        }
+        if (evictor != null)
+            evictor.interrupt();
+        super.shutdown();
+    }
+
+}
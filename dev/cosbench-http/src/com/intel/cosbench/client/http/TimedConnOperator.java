@@ -0,0 +1,70 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.client.http;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+import org.apache.http.HttpHost;
+import org.apache.http.conn.OperatedClientConnection;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.impl.conn.DefaultClientConnectionOperator;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * This class opens connections as usual while collecting the time spent on
+ * name resolution and TCP connect in {@link HttpTimings}, TLS handshakes are
+ * timed by {@link TimedHostnameVerifier} and not counted as connect time.
+ * 
+ */
+class TimedConnOperator extends DefaultClientConnectionOperator {
+
+    TimedConnOperator(SchemeRegistry registry) {
+        super(registry);
+    }
+
+    @Override
+    protected InetAddress[] resolveHostname(String host)
+            throws UnknownHostException {
+        long start = System.nanoTime();
+        try {
+            return super.resolveHostname(host);
+        } finally {
+            HttpTimings.get().addDnsTime(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void openConnection(OperatedClientConnection conn, HttpHost target,
+            InetAddress local, HttpContext context, HttpParams params)
+            throws IOException {
+        HttpTimings timings = HttpTimings.get();
+        long others = timings.getDnsTime() + timings.getTlsTime();
+        long start = System.nanoTime();
+        try {
+            super.openConnection(conn, target, local, context, params);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            others = timings.getDnsTime() + timings.getTlsTime() - others;
+            timings.addConnTime(Math.max(elapsed - others, 0L));
+        }
+    }
+
+}
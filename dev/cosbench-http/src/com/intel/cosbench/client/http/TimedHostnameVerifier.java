@@ -0,0 +1,70 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.client.http;
+
+import java.io.IOException;
+import java.security.cert.X509Certificate;
+
+import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSocket;
+
+import org.apache.http.conn.ssl.X509HostnameVerifier;
+
+/**
+ * This class completes the TLS handshake of new connections before handing
+ * them to the given verifier, so that the handshake can be collected in
+ * {@link HttpTimings} apart from the TCP connect.
+ * 
+ */
+class TimedHostnameVerifier implements X509HostnameVerifier {
+
+    private X509HostnameVerifier verifier;
+
+    TimedHostnameVerifier(X509HostnameVerifier verifier) {
+        this.verifier = verifier;
+    }
+
+    @Override
+    public void verify(String host, SSLSocket ssl) throws IOException {
+        long start = System.nanoTime();
+        try {
+            ssl.startHandshake();
+        } finally {
+            HttpTimings.get().addTlsTime(System.nanoTime() - start);
+        }
+        verifier.verify(host, ssl);
+    }
+
+    @Override
+    public boolean verify(String host, SSLSession session) {
+        return verifier.verify(host, session);
+    }
+
+    @Override
+    public void verify(String host, X509Certificate cert) throws SSLException {
+        verifier.verify(host, cert);
+    }
+
+    @Override
+    public void verify(String host, String[] cns, String[] subjectAlts)
+            throws SSLException {
+        verifier.verify(host, cns, subjectAlts);
+    }
+
+}
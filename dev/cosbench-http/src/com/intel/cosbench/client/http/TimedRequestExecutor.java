@@ -0,0 +1,49 @@
+/** 
+ 
+Copyright 2013 Intel Corporation, All Rights Reserved.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+   http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License. 
+*/ 
+
+package com.intel.cosbench.client.http;
+
+import java.io.IOException;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+
+/**
+ * This class executes requests as usual while collecting the time from the
+ * request being sent to the response head being received in
+ * {@link HttpTimings}, the response body is left to the caller.
+ * 
+ */
+class TimedRequestExecutor extends HttpRequestExecutor {
+
+    @Override
+    protected HttpResponse doReceiveResponse(HttpRequest request,
+            HttpClientConnection conn, HttpContext context)
+            throws HttpException, IOException {
+        long start = System.nanoTime();
+        try {
+            return super.doReceiveResponse(request, conn, context);
+        } finally {
+            HttpTimings.get().addTtfbTime(System.nanoTime() - start);
+        }
+    }
+
+}
@@ -83,7 +83,7 @@ class KeystoneAuth extends NoneAuth {
 
         logger.debug("using auth config: {}", parms);
 
-        HttpClient httpClient = HttpClientUtil.createHttpClient(timeout);
+        HttpClient httpClient = HttpClientUtil.createHttpClient(timeout, config);
         client = new KeystoneClient(httpClient, url, username, password,
                 tenantName, timeout);
         logger.debug("keystone client has been initialized");
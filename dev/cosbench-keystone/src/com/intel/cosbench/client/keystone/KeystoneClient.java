@@ -78,7 +78,7 @@ public class KeystoneClient {
         this.username = username;
         this.password = password;
         this.tenantName = tenantName;
-        this.handler = new HttpAuthHandler(url, timeout);
+        this.handler = new HttpAuthHandler(url, client);
     }
 
     /**
@@ -39,8 +39,12 @@ public class HttpAuthHandler implements AuthHandler {
     private KeystoneMapper mapper = new KeystoneMapper();
 
     public HttpAuthHandler(String url, int timeout) {
+        this(url, HttpClientUtil.createHttpClient(timeout));
+    }
+
+    public HttpAuthHandler(String url, HttpClient client) {
         this.url = url;
-        client = HttpClientUtil.createHttpClient(timeout);
+        this.client = client;
     }
 
     public String getUrl() {
@@ -34,4 +34,9 @@ public class LibradosStorageFactory implements StorageAPIFactory {
         return new LibradosStorage();
     }
 
+    @Override
+    public boolean isThreadSafe() {
+        return false;
+    }
+
 }
@@ -20,7 +20,8 @@ package com.intel.cosbench.api.mock;
 import static com.intel.cosbench.api.mock.MockConstants.*;
 
 import java.io.InputStream;
-import java.util.Random;
+import java.util.*;
+import java.util.concurrent.*;
 
 import org.apache.commons.io.input.NullInputStream;
 
@@ -30,12 +31,34 @@ import com.intel.cosbench.log.Logger;
 
 /**
  * This is an mocked storage, which just inserts a short delay before return for
- * each request.
+ * each request. Asynchronous requests are completed by a small pool of shared
+ * event-loop threads after the same delay.
  * 
  * @author ywang19, qzheng7
  * 
  */
-class MockStorage extends NoneStorage {
+class MockStorage extends NoneStorage implements AsyncStorageAPI,
+        RangedStorageAPI, MultipartStorageAPI, PayloadStorageAPI {
+
+    private static final ScheduledExecutorService LOOP = Executors
+            .newScheduledThreadPool(Runtime.getRuntime().availableProcessors(),
+                    new ThreadFactory() {
+                        @Override
+                        public Thread newThread(Runnable r) {
+                            Thread thread = new Thread(r, "mock-event-loop");
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+
+    /* placeholder for operations not scheduled yet */
+    private static final Future<?> ISSUING = new FutureTask<Object>(
+            new Runnable() {
+                @Override
+                public void run() {
+                    /* empty */
+                }
+            }, null);
 
     private Random random = new Random();
     private Statistics stats = new Statistics();
@@ -49,6 +72,8 @@ class MockStorage extends NoneStorage {
 
     /* current working thread */
     private volatile Thread thread;
+    /* outstanding asynchronous operations */
+    private ConcurrentMap<StorageCallback, Future<?>> pendings = new ConcurrentHashMap<StorageCallback, Future<?>>();
 
     public MockStorage() {
         /* empty */
@@ -94,6 +119,14 @@ class MockStorage extends NoneStorage {
         if (thread != null)
             thread.interrupt();
         thread = null;
+        for (StorageCallback callback : pendings.keySet()) {
+            Future<?> future = pendings.remove(callback);
+            if (future == null)
+                continue; // already completed
+            future.cancel(false);
+            callback.onFailed(new StorageInterruptedException(
+                    new InterruptedException("operation aborted")));
+        }
     }
 
     @Override
@@ -108,6 +141,21 @@ class MockStorage extends NoneStorage {
         return new NullInputStream(size);
     }
     
+    @Override
+    public InputStream getObjectRange(String container, String object,
+            long offset, long length, Config config) {
+        super.getObject(container, object, config);
+        if (profiling && logger.isDebugEnabled())
+            stats.addEvent("GET", container + "/" + object);
+        if (random.nextDouble() < errors)
+            throw new StorageException("error injection");
+        if (offset >= size)
+            throw new StorageException("range not satisfiable: " + offset);
+        thread = Thread.currentThread();
+        MockUtils.sleep(delay);
+        return new NullInputStream(Math.min(length, size - offset));
+    }
+
     @Override
     public InputStream getList(String container, String object, Config config) {
         super.getList(container, object, config);
@@ -159,6 +207,20 @@ class MockStorage extends NoneStorage {
         MockUtils.sleep(delay);
     }
 
+    @Override
+    public void createObject(String container, String object,
+            Payload payload, Config config) {
+        super.createObject(container, object, (InputStream) null,
+                payload.getLength(), config);
+        if (profiling && logger.isDebugEnabled())
+            stats.addEvent("PUT", container + "/" + object);
+        if (random.nextDouble() < errors)
+            throw new StorageException("error injection");
+        MockUtils.consume(payload);
+        thread = Thread.currentThread();
+        MockUtils.sleep(delay);
+    }
+
     @Override
     public void deleteContainer(String container, Config config) {
         super.deleteContainer(container, config);
@@ -179,4 +241,88 @@ class MockStorage extends NoneStorage {
         MockUtils.sleep(delay);
     }
 
+    @Override
+    public String initMultipartUpload(String container, String object,
+            Config config) {
+        if (random.nextDouble() < errors)
+            throw new StorageException("error injection");
+        thread = Thread.currentThread();
+        MockUtils.sleep(delay);
+        return UUID.randomUUID().toString();
+    }
+
+    /* parts may be uploaded from other threads than the current worker */
+    @Override
+    public String uploadPart(String container, String object, String uploadId,
+            int partNumber, InputStream data, long length, Config config) {
+        super.createObject(container, object, data, length, config);
+        if (random.nextDouble() < errors)
+            throw new StorageException("error injection");
+        MockUtils.consume(data);
+        MockUtils.sleep(delay);
+        return uploadId + "." + partNumber;
+    }
+
+    @Override
+    public void completeMultipartUpload(String container, String object,
+            String uploadId, List<String> parts, Config config) {
+        if (random.nextDouble() < errors)
+            throw new StorageException("error injection");
+        thread = Thread.currentThread();
+        MockUtils.sleep(delay);
+    }
+
+    @Override
+    public void abortMultipartUpload(String container, String object,
+            String uploadId, Config config) {
+        MockUtils.sleep(delay);
+    }
+
+    @Override
+    public void getObjectAsync(String container, String object, Config config,
+            StorageCallback callback) {
+        super.getObject(container, object, config);
+        if (profiling && logger.isDebugEnabled())
+            stats.addEvent("GET", container + "/" + object);
+        schedule(callback, size);
+    }
+
+    @Override
+    public void createObjectAsync(String container, String object,
+            InputStream data, long length, Config config,
+            StorageCallback callback) {
+        super.createObject(container, object, data, length, config);
+        if (profiling && logger.isDebugEnabled())
+            stats.addEvent("PUT", container + "/" + object);
+        MockUtils.consume(data);
+        schedule(callback, length);
+    }
+
+    @Override
+    public void deleteObjectAsync(String container, String object,
+            Config config, StorageCallback callback) {
+        super.deleteObject(container, object, config);
+        if (profiling && logger.isDebugEnabled())
+            stats.addEvent("DEL", container + "/" + object);
+        schedule(callback, 0L);
+    }
+
+    private void schedule(final StorageCallback callback, final long bytes) {
+        final boolean failed = random.nextDouble() < errors;
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                if (pendings.remove(callback) == null)
+                    return; // aborted
+                if (failed)
+                    callback.onFailed(new StorageException("error injection"));
+                else
+                    callback.onCompleted(bytes);
+            }
+        };
+        pendings.put(callback, ISSUING);
+        Future<?> future = LOOP.schedule(task, delay, TimeUnit.MILLISECONDS);
+        pendings.replace(callback, ISSUING, future);
+    }
+
 }
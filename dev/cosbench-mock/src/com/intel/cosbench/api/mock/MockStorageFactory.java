@@ -31,4 +31,9 @@ public class MockStorageFactory implements StorageAPIFactory {
         return new MockStorage();
     }
 
+    @Override
+    public boolean isThreadSafe() {
+        return false;
+    }
+
 }
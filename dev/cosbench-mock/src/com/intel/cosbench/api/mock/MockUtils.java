@@ -22,6 +22,7 @@ import java.io.*;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.output.NullOutputStream;
 
+import com.intel.cosbench.api.storage.Payload;
 import com.intel.cosbench.api.storage.StorageInterruptedException;
 
 class MockUtils {
@@ -42,6 +43,14 @@ class MockUtils {
         }
     }
 
+    public static void consume(Payload payload) {
+        try {
+            payload.writeTo(new NullOutputStream());
+        } catch (IOException ioe) {
+            // will not happen
+        }
+    }
+
     public static String toString(InputStream data) {
         String string = null;
         try {
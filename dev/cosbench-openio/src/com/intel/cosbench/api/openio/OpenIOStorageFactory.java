@@ -22,4 +22,9 @@ public class OpenIOStorageFactory implements StorageAPIFactory {
         return new OpenIOStorage();
     }
 
+    @Override
+    public boolean isThreadSafe() {
+        return false;
+    }
+
 }
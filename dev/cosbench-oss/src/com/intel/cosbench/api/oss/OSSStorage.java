@@ -8,12 +8,15 @@ import static com.intel.cosbench.client.oss.OSSConstants.CONN_TIMEOUT_DEFAULT;
 import static com.intel.cosbench.client.oss.OSSConstants.CONN_TIMEOUT_KEY;
 import static com.intel.cosbench.client.oss.OSSConstants.ENDPOINT_DEFAULT;
 import static com.intel.cosbench.client.oss.OSSConstants.ENDPOINT_KEY;
+import static com.intel.cosbench.client.oss.OSSConstants.MAX_CONNECTIONS_KEY;
 import static com.intel.cosbench.client.oss.OSSConstants.PATH_STYLE_ACCESS_DEFAULT;
 import static com.intel.cosbench.client.oss.OSSConstants.PATH_STYLE_ACCESS_KEY;
 import static com.intel.cosbench.client.oss.OSSConstants.PROXY_HOST_KEY;
 import static com.intel.cosbench.client.oss.OSSConstants.PROXY_PORT_KEY;
 
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 import com.aliyun.oss.ClientConfiguration;
 import com.aliyun.oss.OSS;
@@ -23,16 +26,26 @@ import com.aliyun.oss.common.auth.Credentials;
 import com.aliyun.oss.common.auth.CredentialsProvider;
 import com.aliyun.oss.common.auth.DefaultCredentialProvider;
 import com.aliyun.oss.common.auth.DefaultCredentials;
+import com.aliyun.oss.model.AbortMultipartUploadRequest;
+import com.aliyun.oss.model.CompleteMultipartUploadRequest;
+import com.aliyun.oss.model.InitiateMultipartUploadRequest;
 import com.aliyun.oss.model.OSSObject;
 import com.aliyun.oss.model.ObjectMetadata;
+import com.aliyun.oss.model.PartETag;
+import com.aliyun.oss.model.UploadPartRequest;
 import com.intel.cosbench.api.context.AuthContext;
 import com.intel.cosbench.api.context.Context;
+import com.intel.cosbench.api.storage.MultipartStorageAPI;
 import com.intel.cosbench.api.storage.NoneStorage;
+import com.intel.cosbench.api.storage.Payload;
+import com.intel.cosbench.api.storage.PayloadStorageAPI;
+import com.intel.cosbench.api.storage.StorageConstants;
 import com.intel.cosbench.api.storage.StorageException;
 import com.intel.cosbench.config.Config;
 import com.intel.cosbench.log.Logger;
 
-public class OSSStorage extends NoneStorage {
+public class OSSStorage extends NoneStorage implements MultipartStorageAPI,
+		PayloadStorageAPI {
 
 	private int timeout;
 	private String accessKey;
@@ -58,18 +71,25 @@ public class OSSStorage extends NoneStorage {
 		String proxyHost = config.get(PROXY_HOST_KEY, "");
 		String proxyPort = config.get(PROXY_PORT_KEY, "");
 
+		ClientConfiguration clientConf = new ClientConfiguration();
+		int maxConnections = config.getInt(MAX_CONNECTIONS_KEY, Math.max(
+				clientConf.getMaxConnections(), config.getInt(
+						StorageConstants.CONCURRENCY_KEY,
+						StorageConstants.CONCURRENCY_DEFAULT)));
+
 		parms.put(ENDPOINT_KEY, endpoint);
 		parms.put(AUTH_USERNAME_KEY, accessKey);
 		parms.put(AUTH_PASSWORD_KEY, secretKey);
 		parms.put(PATH_STYLE_ACCESS_KEY, pathStyleAccess);
 		parms.put(PROXY_HOST_KEY, proxyHost);
 		parms.put(PROXY_PORT_KEY, proxyPort);
+		parms.put(MAX_CONNECTIONS_KEY, maxConnections);
 
 		logger.debug("using storage config: {}", parms);
 
-		ClientConfiguration clientConf = new ClientConfiguration();
 		clientConf.setConnectionTimeout(timeout);
 		clientConf.setSocketTimeout(timeout);
+		clientConf.setMaxConnections(maxConnections);
 		// clientConf.setProtocol(Protocol.HTTP);
 		if ((!proxyHost.equals("")) && (!proxyPort.equals(""))) {
 			clientConf.setProxyHost(proxyHost);
@@ -143,6 +163,12 @@ public class OSSStorage extends NoneStorage {
 		}
 	}
 
+	@Override
+	public void createObject(String container, String object, Payload payload, Config config) {
+		/* markable, so the sdk retries it without buffering a copy */
+		createObject(container, object, payload.newInputStream(), payload.getLength(), config);
+	}
+
 	@Override
 	public void deleteContainer(String container, Config config) {
 		super.deleteContainer(container, config);
@@ -168,4 +194,62 @@ public class OSSStorage extends NoneStorage {
 			throw new StorageException(e);
 		}
 	}
+
+	@Override
+	public String initMultipartUpload(String container, String object, Config config) {
+		try {
+			return ossClient.initiateMultipartUpload(new InitiateMultipartUploadRequest(container, object))
+					.getUploadId();
+		} catch (OSSException ossExce) {
+			throw new StorageException(ossExce.getErrorMessage(), ossExce);
+		} catch (Exception e) {
+			throw new StorageException(e);
+		}
+	}
+
+	@Override
+	public String uploadPart(String container, String object, String uploadId, int partNumber, InputStream data,
+			long length, Config config) {
+		super.createObject(container, object, data, length, config);
+		try {
+			UploadPartRequest request = new UploadPartRequest();
+			request.setBucketName(container);
+			request.setKey(object);
+			request.setUploadId(uploadId);
+			request.setPartNumber(partNumber);
+			request.setInputStream(data);
+			request.setPartSize(length);
+			return ossClient.uploadPart(request).getETag();
+		} catch (OSSException ossExce) {
+			throw new StorageException(ossExce.getErrorMessage(), ossExce);
+		} catch (Exception e) {
+			throw new StorageException(e);
+		}
+	}
+
+	@Override
+	public void completeMultipartUpload(String container, String object, String uploadId, List<String> parts,
+			Config config) {
+		List<PartETag> tags = new ArrayList<PartETag>(parts.size());
+		for (int i = 0; i < parts.size(); i++)
+			tags.add(new PartETag(i + 1, parts.get(i)));
+		try {
+			ossClient.completeMultipartUpload(new CompleteMultipartUploadRequest(container, object, uploadId, tags));
+		} catch (OSSException ossExce) {
+			throw new StorageException(ossExce.getErrorMessage(), ossExce);
+		} catch (Exception e) {
+			throw new StorageException(e);
+		}
+	}
+
+	@Override
+	public void abortMultipartUpload(String container, String object, String uploadId, Config config) {
+		try {
+			ossClient.abortMultipartUpload(new AbortMultipartUploadRequest(container, object, uploadId));
+		} catch (OSSException ossExce) {
+			throw new StorageException(ossExce.getErrorMessage(), ossExce);
+		} catch (Exception e) {
+			throw new StorageException(e);
+		}
+	}
 }
@@ -15,4 +15,9 @@ public class OSSStorageFactory implements StorageAPIFactory {
 		return new OSSStorage();
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
 }
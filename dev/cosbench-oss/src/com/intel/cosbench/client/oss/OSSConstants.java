@@ -8,6 +8,9 @@ public interface OSSConstants {
 
 	String CONN_TIMEOUT_KEY = "timeout";
 	int CONN_TIMEOUT_DEFAULT = 50000;
+
+	/* defaults to the number of workers sharing the client */
+	String MAX_CONNECTIONS_KEY = "max_connections";
 	// --------------------------------------------------------------------------
 	// ENDPOINT
 	// --------------------------------------------------------------------------
@@ -3,6 +3,7 @@ package com.intel.cosbench.api.S3Stor;
 import static com.intel.cosbench.client.S3Stor.S3Constants.*;
 
 import java.io.*;
+import java.util.*;
 
 import org.apache.http.HttpStatus;
 
@@ -16,7 +17,8 @@ import com.intel.cosbench.api.context.*;
 import com.intel.cosbench.config.Config;
 import com.intel.cosbench.log.Logger;
 
-public class S3Storage extends NoneStorage {
+public class S3Storage extends NoneStorage implements RangedStorageAPI,
+        MultipartStorageAPI, PayloadStorageAPI {
 	private int timeout;
 	
     private String accessKey;
@@ -41,6 +43,11 @@ public class S3Storage extends NoneStorage {
         
 		String proxyHost = config.get(PROXY_HOST_KEY, "");
 		String proxyPort = config.get(PROXY_PORT_KEY, "");
+
+        int maxConnections = config.getInt(MAX_CONNECTIONS_KEY, Math.max(
+                ClientConfiguration.DEFAULT_MAX_CONNECTIONS, config.getInt(
+                        StorageConstants.CONCURRENCY_KEY,
+                        StorageConstants.CONCURRENCY_DEFAULT)));
         
         parms.put(ENDPOINT_KEY, endpoint);
     	parms.put(AUTH_USERNAME_KEY, accessKey);
@@ -48,12 +55,14 @@ public class S3Storage extends NoneStorage {
     	parms.put(PATH_STYLE_ACCESS_KEY, pathStyleAccess);
     	parms.put(PROXY_HOST_KEY, proxyHost);
     	parms.put(PROXY_PORT_KEY, proxyPort);
+    	parms.put(MAX_CONNECTIONS_KEY, maxConnections);
 
         logger.debug("using storage config: {}", parms);
         
         ClientConfiguration clientConf = new ClientConfiguration();
         clientConf.setConnectionTimeout(timeout);
         clientConf.setSocketTimeout(timeout);
+        clientConf.setMaxConnections(maxConnections);
         clientConf.withUseExpectContinue(false);
         clientConf.withSignerOverride("S3SignerType");
 //        clientConf.setProtocol(Protocol.HTTP);
@@ -102,6 +111,21 @@ public class S3Storage extends NoneStorage {
         return stream;
     }
 
+    @Override
+    public InputStream getObjectRange(String container, String object,
+            long offset, long length, Config config) {
+        super.getObject(container, object, config);
+        InputStream stream;
+        try {
+            GetObjectRequest request = new GetObjectRequest(container, object);
+            request.setRange(offset, offset + length - 1);
+            stream = client.getObject(request).getObjectContent();
+        } catch (Exception e) {
+            throw new StorageException(e);
+        }
+        return stream;
+    }
+
     @Override
     public void createContainer(String container, Config config) {
         super.createContainer(container, config);
@@ -130,6 +154,14 @@ public class S3Storage extends NoneStorage {
         }
     }
 
+    @Override
+    public void createObject(String container, String object,
+            Payload payload, Config config) {
+        /* markable, so the sdk retries it without buffering a copy */
+        createObject(container, object, payload.newInputStream(),
+                payload.getLength(), config);
+    }
+
     @Override
     public void deleteContainer(String container, Config config) {
         super.deleteContainer(container, config);
@@ -160,4 +192,56 @@ public class S3Storage extends NoneStorage {
         }
     }
 
+    @Override
+    public String initMultipartUpload(String container, String object,
+            Config config) {
+        try {
+            return client.initiateMultipartUpload(
+                    new InitiateMultipartUploadRequest(container, object))
+                    .getUploadId();
+        } catch (Exception e) {
+            throw new StorageException(e);
+        }
+    }
+
+    @Override
+    public String uploadPart(String container, String object, String uploadId,
+            int partNumber, InputStream data, long length, Config config) {
+        super.createObject(container, object, data, length, config);
+        try {
+            UploadPartRequest request = new UploadPartRequest()
+                    .withBucketName(container).withKey(object)
+                    .withUploadId(uploadId).withPartNumber(partNumber)
+                    .withInputStream(data).withPartSize(length);
+            return client.uploadPart(request).getETag();
+        } catch (Exception e) {
+            throw new StorageException(e);
+        }
+    }
+
+    @Override
+    public void completeMultipartUpload(String container, String object,
+            String uploadId, List<String> parts, Config config) {
+        List<PartETag> tags = new ArrayList<PartETag>(parts.size());
+        for (int i = 0; i < parts.size(); i++)
+            tags.add(new PartETag(i + 1, parts.get(i)));
+        try {
+            client.completeMultipartUpload(new CompleteMultipartUploadRequest(
+                    container, object, uploadId, tags));
+        } catch (Exception e) {
+            throw new StorageException(e);
+        }
+    }
+
+    @Override
+    public void abortMultipartUpload(String container, String object,
+            String uploadId, Config config) {
+        try {
+            client.abortMultipartUpload(new AbortMultipartUploadRequest(
+                    container, object, uploadId));
+        } catch (Exception e) {
+            throw new StorageException(e);
+        }
+    }
+
 }
@@ -14,4 +14,9 @@ public class S3StorageFactory implements StorageAPIFactory {
         return new S3Storage();
     }
 
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
 }
@@ -7,6 +7,9 @@ public interface S3Constants {
 
     String CONN_TIMEOUT_KEY = "timeout";
     int CONN_TIMEOUT_DEFAULT = 30000;
+
+    /* defaults to the number of workers sharing the client */
+    String MAX_CONNECTIONS_KEY = "max_connections";
     // --------------------------------------------------------------------------
     // ENDPOINT
     // --------------------------------------------------------------------------
@@ -33,17 +33,12 @@ import java.io.InterruptedIOException;
 import java.net.SocketTimeoutException;
 
 import org.apache.http.client.HttpClient;
-import org.apache.http.impl.client.DefaultHttpClient;
-import org.apache.http.impl.conn.tsccm.ThreadSafeClientConnManager;
-import org.apache.http.params.BasicHttpParams;
-import org.apache.http.params.HttpConnectionParams;
-import org.apache.http.params.HttpParams;
-import org.apache.http.params.HttpProtocolParams;
 
 import com.intel.cosbench.api.storage.NoneStorage;
 import com.intel.cosbench.api.storage.StorageException;
 import com.intel.cosbench.api.storage.StorageInterruptedException;
 import com.intel.cosbench.api.storage.StorageTimeoutException;
+import com.intel.cosbench.client.http.HttpClientUtil;
 import com.intel.cosbench.config.Config;
 import com.intel.cosbench.config.ConfigException;
 import com.intel.cosbench.log.Logger;
@@ -52,8 +47,7 @@ import com.scality.cosbench.client.SproxydClientException;
 
 public class SproxydStorage extends NoneStorage {
 
-	private static HttpClient httpClient;
-	private static int nbClients = 0;
+	private HttpClient httpClient;
 	private SproxydClient client;
 	private String basePath;
 	private String hosts;
@@ -69,42 +63,12 @@ public class SproxydStorage extends NoneStorage {
 		initParms(config);
 
 
-		HttpClient httpClient = createHttpClient(timeout, maxTotal, maxPerRoute);
+		/* the pool is shared by all workers with the same settings */
+		httpClient = HttpClientUtil.createPooledHttpClient(timeout, maxTotal, maxPerRoute, config);
 		client = new SproxydClient(httpClient, hosts, port, basePath, logging ? logger : null);
 		logger.debug("sproxyd client has been initialized");
 	}
-	
-	private static synchronized HttpClient createHttpClient(int timeout, int maxTotal, int maxPerRoute) {
-		if (httpClient == null) {
-			final ThreadSafeClientConnManager tscm = new ThreadSafeClientConnManager();
-			tscm.setMaxTotal(maxTotal);
-			tscm.setDefaultMaxPerRoute(maxPerRoute);
-			final HttpParams params = createDefaultHttpParams(timeout);
-			httpClient = new DefaultHttpClient(tscm, params);
-		}
-		nbClients++;
-		return httpClient;
-	}
-	
-	private static synchronized void disposeHttpClient() {
-		nbClients--;
-		if (nbClients == 0) {
-			httpClient.getConnectionManager().shutdown();
-			httpClient = null;
-		}
-	}
 
-    private static HttpParams createDefaultHttpParams(int timeout) {
-        HttpParams params = new BasicHttpParams();
-        /* default HTTP parameters */
-        DefaultHttpClient.setDefaultHttpParams(params);
-        /* connection/socket timeouts */
-        HttpConnectionParams.setSoTimeout(params, timeout);
-        HttpConnectionParams.setConnectionTimeout(params, timeout);
-        /* user agent */
-        HttpProtocolParams.setUserAgent(params, "cosbench/2.0");
-        return params;
-    }
 	private void initParms(Config config) {
 		basePath = config.get(BASE_PATH_KEY, BASE_PATH_DEFAULT);
 		hosts = config.get(HOSTS_KEY, HOSTS_DEFAULT);
@@ -130,7 +94,7 @@ public class SproxydStorage extends NoneStorage {
 	public void dispose() {
 		super.dispose();
 		client.dispose();
-		disposeHttpClient();
+		HttpClientUtil.disposeHttpClient(httpClient);
 	}
 
 	@Override
@@ -29,4 +29,9 @@ public class SproxydStorageFactory implements StorageAPIFactory {
         return new SproxydStorage();
     }
 
+    @Override
+    public boolean isThreadSafe() {
+        return false;
+    }
+
 }
@@ -40,7 +40,8 @@ import com.intel.cosbench.log.Logger;
  * @author ywang19, qzheng7
  * 
  */
-class SwiftStorage extends NoneStorage {
+class SwiftStorage extends NoneStorage implements RangedStorageAPI,
+        PayloadStorageAPI {
 
     private SwiftClient client;
 
@@ -70,7 +71,7 @@ class SwiftStorage extends NoneStorage {
 
         logger.debug("using storage config: {}", parms);
 
-        HttpClient httpClient = HttpClientUtil.createHttpClient(timeout);
+        HttpClient httpClient = HttpClientUtil.createHttpClient(timeout, config);
         
         client = new SwiftClient(httpClient);
         logger.debug("swift client has been initialized");
@@ -144,6 +145,29 @@ class SwiftStorage extends NoneStorage {
         }
         return stream;
     }
+
+    @Override
+    public InputStream getObjectRange(String container, String object,
+            long offset, long length, Config config) {
+        super.getObject(container, object, config);
+        InputStream stream;
+        try {
+            stream = client.getObjectAsStream(container, object, offset,
+                    length);
+        } catch (SocketTimeoutException ste) {
+            throw new StorageTimeoutException(ste);
+        } catch (ConnectTimeoutException cte) {
+            throw new StorageTimeoutException(cte);
+        } catch (InterruptedIOException ie) {
+            throw new StorageInterruptedException(ie);
+        } catch (SwiftException se) {
+            String msg = se.getHttpStatusLine().toString();
+            throw new StorageException(msg, se);
+        } catch (Exception e) {
+            throw new StorageException(e);
+        }
+        return stream;
+    }
     
     @Override
     public InputStream getList(String container, String object, Config config) {
@@ -226,6 +250,27 @@ class SwiftStorage extends NoneStorage {
         }
     }
 
+    @Override
+    public void createObject(String container, String object,
+            Payload payload, Config config) {
+        super.createObject(container, object, (InputStream) null,
+                payload.getLength(), config);
+        try {
+            client.storePayload(container, object, payload);
+        } catch (SocketTimeoutException ste) {
+            throw new StorageTimeoutException(ste);
+        } catch (ConnectTimeoutException cte) {
+            throw new StorageTimeoutException(cte);
+        } catch (InterruptedIOException ie) {
+            throw new StorageInterruptedException(ie);
+        } catch (SwiftException se) {
+            String msg = se.getHttpStatusLine().toString();
+            throw new StorageException(msg, se);
+        } catch (Exception e) {
+            throw new StorageException(e);
+        }
+    }
+
     @Override
     public void deleteContainer(String container, Config config) {
         super.deleteContainer(container, config);
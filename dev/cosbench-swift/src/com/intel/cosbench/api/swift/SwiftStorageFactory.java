@@ -31,4 +31,9 @@ public class SwiftStorageFactory implements StorageAPIFactory {
         return new SwiftStorage();
     }
 
+    @Override
+    public boolean isThreadSafe() {
+        return false;
+    }
+
 }
@@ -22,12 +22,15 @@ import static org.apache.http.HttpStatus.*;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.http.*;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.*;
 import org.apache.http.entity.*;
+import com.intel.cosbench.api.storage.Payload;
 import com.intel.cosbench.client.http.HttpClientUtil;
+import com.intel.cosbench.client.http.PayloadEntity;
 import com.intel.cosbench.log.*;
 
 public class SwiftClient {
@@ -42,8 +45,9 @@ public class SwiftClient {
     /* HTTP client */
     private HttpClient client;
 
-    /* current operation */
-    private volatile HttpUriRequest method;
+    /* last request issued by each thread, kept for aborting */
+    private Map<Thread, HttpUriRequest> methods =
+            new ConcurrentHashMap<Thread, HttpUriRequest>();
 
     public SwiftClient(HttpClient client) {
         this.client = client;
@@ -58,14 +62,18 @@ public class SwiftClient {
     }
 
     public void dispose() {
-        method = null;
+        methods.clear();
         HttpClientUtil.disposeHttpClient(client);
     }
 
     public void abort() {
-        if (method != null)
+        for (HttpUriRequest method : methods.values())
             method.abort();
-        method = null;
+    }
+
+    private HttpUriRequest track(HttpUriRequest method) {
+        methods.put(Thread.currentThread(), method);
+        return method;
     }
 
     public void init(String authToken, String storageURL, String policy) {
@@ -77,7 +85,8 @@ public class SwiftClient {
     public SwiftAccount getAccountInfo() throws IOException, SwiftException {
         SwiftResponse response = null;
         try {
-            method = HttpClientUtil.makeHttpHead(storageURL);
+            HttpUriRequest method = track(HttpClientUtil
+                    .makeHttpHead(storageURL));
             method.setHeader(X_AUTH_TOKEN, authToken);
             response = new SwiftResponse(client.execute(method));
             if (response.getStatusCode() == SC_NO_CONTENT) {
@@ -97,7 +106,8 @@ public class SwiftClient {
             throws IOException, SwiftException {
         SwiftResponse response = null;
         try {
-            method = HttpClientUtil.makeHttpHead(getContainerPath(container));
+            HttpUriRequest method = track(HttpClientUtil
+                    .makeHttpHead(getContainerPath(container)));
             method.setHeader(X_AUTH_TOKEN, authToken);
             response = new SwiftResponse(client.execute(method));
             if (response.getStatusCode() == SC_NO_CONTENT) {
@@ -124,7 +134,8 @@ public class SwiftClient {
 		Logger logger = LogFactory.getSystemLogger();
 		logger.debug("Creating container with auth_token " + authToken);
 
-            method = HttpClientUtil.makeHttpPut(getContainerPath(container));
+            HttpUriRequest method = track(HttpClientUtil
+                    .makeHttpPut(getContainerPath(container)));
             method.setHeader(X_AUTH_TOKEN, authToken);
             if(policy != null)
             	method.setHeader(X_STORAGE_POLICY, policy);
@@ -149,7 +160,8 @@ public class SwiftClient {
             SwiftException {
         SwiftResponse response = null;
         try {
-            method = HttpClientUtil.makeHttpDelete(getContainerPath(container));
+            HttpUriRequest method = track(HttpClientUtil
+                    .makeHttpDelete(getContainerPath(container)));
             method.setHeader(X_AUTH_TOKEN, authToken);
             response = new SwiftResponse(client.execute(method));
             if (response.getStatusCode() == SC_NO_CONTENT)
@@ -172,7 +184,8 @@ public class SwiftClient {
 
     public InputStream getObjectAsStream(String container, String object)
             throws IOException, SwiftException {
-        method = HttpClientUtil.makeHttpGet(getObjectPath(container, object));
+        HttpUriRequest method = track(HttpClientUtil
+                .makeHttpGet(getObjectPath(container, object)));
         method.setHeader(X_AUTH_TOKEN, authToken);
         SwiftResponse response = new SwiftResponse(client.execute(method));
         if (response.getStatusCode() == SC_OK)
@@ -185,11 +198,34 @@ public class SwiftClient {
                 response.getResponseHeaders(), response.getStatusLine());
     }
     
+    public InputStream getObjectAsStream(String container, String object,
+            long offset, long length) throws IOException, SwiftException {
+        HttpUriRequest method = track(HttpClientUtil
+                .makeHttpGet(getObjectPath(container, object)));
+        method.setHeader(X_AUTH_TOKEN, authToken);
+        method.setHeader("Range", "bytes=" + offset + "-"
+                + (offset + length - 1));
+        SwiftResponse response = new SwiftResponse(client.execute(method));
+        if (response.getStatusCode() == SC_PARTIAL_CONTENT)
+            return response.getResponseBodyAsStream();
+        if (response.getStatusCode() == SC_OK) {
+            // range ignored: do not pull the whole object just to discard it
+            method.abort();
+            throw new SwiftException("range not honoured by server",
+                    response.getResponseHeaders(), response.getStatusLine());
+        }
+        response.consumeResposeBody();
+        if (response.getStatusCode() == SC_NOT_FOUND)
+            throw new SwiftFileNotFoundException("object not found " + container + " / " + object, response.getResponseHeaders(),
+                    response.getStatusLine());
+        throw new SwiftException("unexpected result from server",
+                response.getResponseHeaders(), response.getStatusLine());
+    }
+
     public InputStream getTargetList(String container, String object) throws IOException, SwiftException {
-    	if (object.isEmpty())
-    		method = HttpClientUtil.makeHttpGet(getObjectPath(container, object));
-		else
-			method = HttpClientUtil.makeHttpHead(getObjectPath(container, object));
+        HttpUriRequest method = track(object.isEmpty() ? HttpClientUtil
+                .makeHttpGet(getObjectPath(container, object)) : HttpClientUtil
+                .makeHttpHead(getObjectPath(container, object)));
         method.setHeader(X_AUTH_TOKEN, authToken);
         SwiftResponse response = new SwiftResponse(client.execute(method));
         
@@ -211,7 +247,8 @@ public class SwiftClient {
             throws IOException, SwiftException {
         SwiftResponse response = null;
         try {
-            method = HttpClientUtil.makeHttpPut(getObjectPath(container, object));
+            HttpUriRequest method = track(HttpClientUtil
+                    .makeHttpPut(getObjectPath(container, object)));
             method.setHeader(X_AUTH_TOKEN, authToken);
             ByteArrayEntity entity = new ByteArrayEntity(data);
             entity.setChunked(false);
@@ -235,16 +272,27 @@ public class SwiftClient {
 
     public void storeStreamedObject(String container, String object,
             InputStream data, long length) throws IOException, SwiftException {
+        InputStreamEntity entity = new InputStreamEntity(data, length);
+        if (length < 0)
+            entity.setChunked(true);
+        else
+            entity.setChunked(false);
+        entity.setContentType("application/octet-stream");
+        storeEntity(container, object, entity);
+    }
+
+    public void storePayload(String container, String object, Payload payload)
+            throws IOException, SwiftException {
+        storeEntity(container, object, new PayloadEntity(payload));
+    }
+
+    private void storeEntity(String container, String object,
+            HttpEntity entity) throws IOException, SwiftException {
         SwiftResponse response = null;
         try {
-            method = HttpClientUtil.makeHttpPut(getObjectPath(container, object));
+            HttpUriRequest method = track(HttpClientUtil
+                    .makeHttpPut(getObjectPath(container, object)));
             method.setHeader(X_AUTH_TOKEN, authToken);
-            InputStreamEntity entity = new InputStreamEntity(data, length);
-            if (length < 0)
-                entity.setChunked(true);
-            else
-                entity.setChunked(false);
-            entity.setContentType("application/octet-stream");
             ((HttpPut)method).setEntity(entity);
             response = new SwiftResponse(client.execute(method));
             if (response.getStatusCode() == SC_CREATED)
@@ -267,7 +315,8 @@ public class SwiftClient {
             throws IOException, SwiftException {
         SwiftResponse response = null;
         try {
-            method = HttpClientUtil.makeHttpDelete(getObjectPath(container, object));
+            HttpUriRequest method = track(HttpClientUtil
+                    .makeHttpDelete(getObjectPath(container, object)));
             method.setHeader(X_AUTH_TOKEN, authToken);
             response = new SwiftResponse(client.execute(method));
             if (response.getStatusCode() == SC_NO_CONTENT)
@@ -289,7 +338,8 @@ public class SwiftClient {
             Map<String, String> map) throws IOException, SwiftException {
         SwiftResponse response = null;
         try {
-            method = HttpClientUtil.makeHttpPost(getObjectPath(container, object));
+            HttpUriRequest method = track(HttpClientUtil
+                    .makeHttpPost(getObjectPath(container, object)));
             method.setHeader(X_AUTH_TOKEN, authToken);
             for (String ele : map.keySet())
                 method.addHeader(ele, map.get(ele));
@@ -312,7 +362,8 @@ public class SwiftClient {
             throws IOException, SwiftException {
         SwiftResponse response = null;
         try {
-            method = HttpClientUtil.makeHttpHead(getObjectPath(container, object));
+            HttpUriRequest method = track(HttpClientUtil
+                    .makeHttpHead(getObjectPath(container, object)));
             method.setHeader(X_AUTH_TOKEN, authToken);
             response = new SwiftResponse(client.execute(method));
             if (response.getStatusCode() == SC_OK) {